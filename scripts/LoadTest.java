@@ -0,0 +1,82 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator: each virtual user sends a request, waits for the full response and
+ * sends the next. A share of users fetch PDFs, the rest hit the JSON API, so the output shows
+ * whether render traffic slows down JSON requests.
+ *
+ * <pre>java scripts/LoadTest.java [baseUrl] [seconds] [users] [pdfShare]</pre>
+ *
+ * Prints one line per endpoint group: requests/s, p50, p99 and max latency, and status counts.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String base = args.length > 0 ? args[0] : "http://localhost:8080";
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int users = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        double pdfShare = args.length > 3 ? Double.parseDouble(args[3]) : 0.2;
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+        Map<String, Map<Integer, AtomicLong>> statuses = new ConcurrentHashMap<>();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < users; u++) {
+                boolean pdf = u < users * pdfShare;
+                String group = pdf ? "pdf" : "json";
+                pool.submit(() -> {
+                    List<Long> samples = new ArrayList<>();
+                    while (System.nanoTime() < deadline) {
+                        long id = 1 + ThreadLocalRandom.current().nextInt(3);
+                        String path = pdf ? "/api/invoices/" + id + "/pdf"
+                                : ThreadLocalRandom.current().nextBoolean() ? "/api/invoices/" + id : "/api/invoices?limit=20";
+                        long started = System.nanoTime();
+                        int status;
+                        try {
+                            HttpResponse<byte[]> r = client.send(HttpRequest.newBuilder(URI.create(base + path))
+                                    .timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofByteArray());
+                            status = r.statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        samples.add(System.nanoTime() - started);
+                        statuses.computeIfAbsent(group, g -> new ConcurrentHashMap<>())
+                                .computeIfAbsent(status, s -> new AtomicLong()).incrementAndGet();
+                    }
+                    synchronized (latencies) {
+                        latencies.computeIfAbsent(group, g -> new ArrayList<>()).addAll(samples);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        System.out.printf("%-5s %10s %10s %10s %10s  %s%n", "group", "req/s", "p50 ms", "p99 ms", "max ms", "statuses");
+        for (String group : new TreeMap<>(latencies).keySet()) {
+            List<Long> samples = new ArrayList<>(latencies.get(group));
+            samples.sort(null);
+            System.out.printf("%-5s %10.1f %10.1f %10.1f %10.1f  %s%n", group, samples.size() / (double) seconds,
+                    millis(samples, 0.50), millis(samples, 0.99), samples.get(samples.size() - 1) / 1e6,
+                    new TreeMap<>(statuses.getOrDefault(group, Map.of())));
+        }
+    }
+
+    private static double millis(List<Long> sorted, double quantile) {
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(quantile * sorted.size()) - 1)) / 1e6;
+    }
+}
@@ -0,0 +1,30 @@
+#!/usr/bin/env sh
+# Runs the same mixed JSON/PDF load against the app on platform threads and then on virtual
+# threads, and prints throughput and latency percentiles for each.
+#   scripts/compare-thread-modes.sh [seconds] [users] [pdfShare]
+# PDF caching is switched off so every PDF request renders.
+set -eu
+cd "$(dirname "$0")/.."
+
+SECONDS_PER_RUN=${1:-30}
+USERS=${2:-200}
+PDF_SHARE=${3:-0.2}
+PORT=18080
+
+./gradlew --quiet bootJar -x test
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -1)
+
+run() {
+  mode=$1; shift
+  java -jar "$JAR" --server.port=$PORT --invoice.pdf.cache.max-entry-bytes=0 "$@" > "build/loadtest-$mode.log" 2>&1 &
+  pid=$!
+  until curl -fs "http://localhost:$PORT/actuator/health" > /dev/null 2>&1; do sleep 1; done
+  java scripts/LoadTest.java "http://localhost:$PORT" 5 20 "$PDF_SHARE" > /dev/null # warm-up
+  echo "== $mode threads"
+  java scripts/LoadTest.java "http://localhost:$PORT" "$SECONDS_PER_RUN" "$USERS" "$PDF_SHARE"
+  kill $pid
+  wait $pid 2> /dev/null || true
+}
+
+run platform
+run virtual --spring.profiles.active=virtual
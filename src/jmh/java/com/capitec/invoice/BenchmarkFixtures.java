@@ -0,0 +1,39 @@
+package com.capitec.invoice;
+
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceItem;
+import com.capitec.invoice.domain.model.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Deterministic invoices for the benchmarks; id picks status, due date and prices. */
+public final class BenchmarkFixtures {
+
+    private static final PaymentStatus[] STATUSES = PaymentStatus.values();
+
+    private BenchmarkFixtures() {}
+
+    public static Invoice invoice(long id, int itemCount) {
+        Invoice inv = new Invoice(id);
+        inv.setInvoiceNumber("BENCH-" + id);
+        inv.setCustomerName("Customer " + (id % 500));
+        inv.setIssueDate(LocalDate.of(2025, 1, 1).plusDays(id % 300));
+        inv.setDueDate(LocalDate.of(2025, 2, 1).plusDays(id % 400));
+        inv.setStatus(STATUSES[(int) (id % STATUSES.length)]);
+        inv.setAmountPaid(BigDecimal.valueOf(id % 100, 1));
+        inv.setItems(items(id, itemCount));
+        return inv;
+    }
+
+    public static List<InvoiceItem> items(long seed, int count) {
+        List<InvoiceItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new InvoiceItem((long) i, "Line " + i, 1 + (int) ((seed + i) % 9),
+                    BigDecimal.valueOf(1000 + (seed * 31 + i * 17) % 90000, 2)));
+        }
+        return items;
+    }
+}
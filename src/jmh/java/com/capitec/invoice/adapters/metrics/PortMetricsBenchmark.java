@@ -0,0 +1,64 @@
+package com.capitec.invoice.adapters.metrics;
+
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead {@link PortMetricsAspect} adds to a port call: the same trivial {@code get} direct,
+ * through a plain AOP proxy, and through the proxy with the timing aspect and percentile
+ * histograms enabled as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PortMetricsBenchmark {
+
+    private InvoiceServicePort direct;
+    private InvoiceServicePort proxied;
+    private InvoiceServicePort instrumented;
+
+    @Setup
+    public void setUp() {
+        Optional<Invoice> found = Optional.of(new Invoice(1L));
+        direct = (InvoiceServicePort) Proxy.newProxyInstance(InvoiceServicePort.class.getClassLoader(),
+                new Class<?>[]{InvoiceServicePort.class}, (proxy, method, args) -> found);
+
+        proxied = new AspectJProxyFactory(direct).getProxy();
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        AspectJProxyFactory factory = new AspectJProxyFactory(direct);
+        factory.addAspect(new PortMetricsAspect(registry));
+        instrumented = factory.getProxy();
+    }
+
+    @Benchmark
+    public Optional<Invoice> direct() {
+        return direct.get(1L);
+    }
+
+    @Benchmark
+    public Optional<Invoice> proxied() {
+        return proxied.get(1L);
+    }
+
+    @Benchmark
+    public Optional<Invoice> instrumented() {
+        return instrumented.get(1L);
+    }
+}
@@ -0,0 +1,48 @@
+package com.capitec.invoice.adapters.pdf;
+
+import com.capitec.invoice.BenchmarkFixtures;
+import com.capitec.invoice.domain.model.Invoice;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/** Template plus PDF rendering behind {@code GET /api/invoices/{id}/pdf}, without the cache. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PdfRenderBenchmark {
+
+    @Param({"5", "50", "500"})
+    int items;
+
+    private InvoicePdfRenderer renderer;
+    private Invoice invoice;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        renderer = new InvoicePdfRenderer(engine, "", new SimpleMeterRegistry());
+        invoice = BenchmarkFixtures.invoice(1, items);
+    }
+
+    @Benchmark
+    public byte[] render() {
+        return renderer.render(invoice);
+    }
+
+    @Benchmark
+    public void renderToStream() {
+        renderer.render(invoice, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,39 @@
+package com.capitec.invoice.adapters.persistence;
+
+import com.capitec.invoice.BenchmarkFixtures;
+import com.capitec.invoice.adapters.persistence.jpa.InvoiceEntity;
+import com.capitec.invoice.domain.model.Invoice;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Domain/entity mapping done on every repository read and write. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EntityMappingBenchmark {
+
+    @Param({"1", "10", "100"})
+    int items;
+
+    private InvoiceRepositoryAdapter adapter;
+    private Invoice invoice;
+    private InvoiceEntity entity;
+
+    @Setup
+    public void setUp() {
+        adapter = new InvoiceRepositoryAdapter(null, null, null, null, null); // mapping touches none of them
+        invoice = BenchmarkFixtures.invoice(1, items);
+        entity = adapter.toEntity(invoice);
+    }
+
+    @Benchmark
+    public InvoiceEntity toEntity() {
+        return adapter.toEntity(invoice);
+    }
+
+    @Benchmark
+    public Invoice toDomain() {
+        return adapter.toDomain(entity);
+    }
+}
@@ -0,0 +1,79 @@
+package com.capitec.invoice.adapters.persistence;
+
+import com.capitec.invoice.InvoiceApplication;
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceFilter;
+import com.capitec.invoice.domain.model.InvoicePage;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPA and JDBC read adapters side by side on the same in-memory database, with the invoice cache
+ * sized to zero so every {@code findById} reaches the database. Run with the gc profiler (the
+ * default in build.gradle) to compare allocation per operation as well as latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadAdapterBenchmark {
+
+    @Param({"jpa", "jdbc"})
+    String adapter;
+
+    private ConfigurableApplicationContext app;
+    private InvoiceRepositoryAdapter jpa;
+    private JdbcInvoiceRepositoryAdapter jdbc;
+
+    @Setup
+    public void setUp() {
+        app = new SpringApplicationBuilder(InvoiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("invoice.persistence.read-adapter=jdbc", "invoice.cache.invoices.maximum-size=0",
+                        "spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        jpa = app.getBean(InvoiceRepositoryAdapter.class);
+        jdbc = app.getBean(JdbcInvoiceRepositoryAdapter.class);
+        JdbcTemplate sql = app.getBean(JdbcTemplate.class);
+        sql.update("insert into invoices (id, invoice_number, customer_name, issue_date, due_date, status, amount_paid, total, balance_due)"
+                + " select x, 'BENCH-' || x, 'Customer ' || mod(x, 50), current_date - 60, current_date - mod(x, 90) + 30,"
+                + " case mod(x, 3) when 0 then 'PAID' else 'UNPAID' end, 0, 50.00, 50.00 from system_range(1000, 10999)");
+        sql.update("insert into invoice_items (id, description, quantity, unit_price, invoice_id)"
+                + " select x, 'Line ' || x, 1, 10.00, 1000 + mod(x, 10000) from system_range(1000, 50999)");
+    }
+
+    @TearDown
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public Invoice findById() {
+        return (adapter.equals("jpa") ? jpa.findById(5000L) : jdbc.findById(5000L)).orElseThrow();
+    }
+
+    @Benchmark
+    public InvoicePage listPage() {
+        InvoiceFilter filter = new InvoiceFilter();
+        return adapter.equals("jpa") ? jpa.findPage(filter, 4000L, 50) : jdbc.findPage(filter, 4000L, 50);
+    }
+
+    @Benchmark
+    public List<Invoice> overdue() {
+        LocalDate today = LocalDate.now().minusDays(50); // ~1/9 of the ledger
+        return adapter.equals("jpa") ? jpa.findOverdue(today) : jdbc.findOverdue(today);
+    }
+
+    @Benchmark
+    public InvoiceServicePort.Summary summary() {
+        LocalDate today = LocalDate.now();
+        return adapter.equals("jpa") ? jpa.summarize(today) : jdbc.summarize(today);
+    }
+}
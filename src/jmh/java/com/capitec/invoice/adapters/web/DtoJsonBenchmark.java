@@ -0,0 +1,71 @@
+package com.capitec.invoice.adapters.web;
+
+import com.capitec.invoice.BenchmarkFixtures;
+import com.capitec.invoice.adapters.web.dto.InvoiceDto;
+import com.capitec.invoice.domain.model.Invoice;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The REST edge: DTO mapping both ways and Jackson, configured as Spring Boot does, against the
+ * streaming writer the read endpoints use. Compare {@code serialize} and {@code serializeStreaming}
+ * on {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoJsonBenchmark {
+
+    @Param({"1", "10", "100"})
+    int items;
+
+    private ObjectMapper objectMapper;
+    private Invoice invoice;
+    private InvoiceDto dto;
+    private String json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        invoice = BenchmarkFixtures.invoice(1, items);
+        dto = InvoiceDtoMapper.toDto(invoice);
+        json = objectMapper.writeValueAsString(dto);
+    }
+
+    @Benchmark
+    public InvoiceDto toDto() {
+        return InvoiceDtoMapper.toDto(invoice);
+    }
+
+    @Benchmark
+    public Invoice fromDto() {
+        return InvoiceDtoMapper.fromDto(dto);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(InvoiceDtoMapper.toDto(invoice));
+    }
+
+    @Benchmark
+    public String serializeStreaming() throws IOException {
+        StringWriter out = new StringWriter(256);
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            InvoiceJsonConverter.write(gen, invoice);
+        }
+        return out.toString();
+    }
+
+    @Benchmark
+    public Invoice deserialize() throws JsonProcessingException {
+        return InvoiceDtoMapper.fromDto(objectMapper.readValue(json, InvoiceDto.class));
+    }
+}
@@ -0,0 +1,74 @@
+package com.capitec.invoice.application;
+
+import com.capitec.invoice.BenchmarkFixtures;
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceItem;
+import com.capitec.invoice.domain.model.SearchResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link InvoiceSearchIndex} queries at 100k and 1M invoices: a rare customer word, a number
+ * prefix, a misspelt item word, and "bench", which every invoice matches (the worst case).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    private static final String[] WORDS = {"acme", "globex", "initech", "umbrella", "soylent", "hooli", "stark",
+            "wayne", "wonka", "cyberdyne", "tyrell", "massive", "dynamic", "consulting", "maintenance", "licence",
+            "support", "hosting", "storage", "training", "hardware", "software", "printer", "network"};
+
+    @Param({"100000", "1000000"})
+    int invoices;
+
+    private InvoiceSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new InvoiceSearchIndex(null);
+        List<Invoice> batch = new ArrayList<>(10_000);
+        for (long id = 1; id <= invoices; id++) {
+            Invoice inv = BenchmarkFixtures.invoice(id, 2);
+            inv.setCustomerName(word(id) + " " + word(id / 7) + " " + (id % 5000));
+            long seed = id;
+            inv.setItems(inv.getItems().stream()
+                    .map(it -> new InvoiceItem(it.getId(), word(seed + it.getId() * 3) + " services", it.getQuantity(), it.getUnitPrice()))
+                    .toList());
+            batch.add(inv);
+            if (batch.size() == 10_000) {
+                index.indexAll(batch);
+                batch.clear();
+            }
+        }
+        index.indexAll(batch);
+    }
+
+    private static String word(long n) {
+        return WORDS[(int) (n % WORDS.length)];
+    }
+
+    @Benchmark
+    public SearchResult customerWord() {
+        return index.search("tyrell wonka 1234", 0, 20);
+    }
+
+    @Benchmark
+    public SearchResult numberPrefix() {
+        return index.search("BENCH-4321", 0, 20);
+    }
+
+    @Benchmark
+    public SearchResult fuzzyItem() {
+        return index.search("maintenence storage", 0, 20);
+    }
+
+    @Benchmark
+    public SearchResult everything() {
+        return index.search("bench", 0, 20);
+    }
+}
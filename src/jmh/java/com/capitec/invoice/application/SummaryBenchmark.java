@@ -0,0 +1,87 @@
+package com.capitec.invoice.application;
+
+import com.capitec.invoice.BenchmarkFixtures;
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.PaymentStatus;
+import com.capitec.invoice.domain.ports.InvoiceRepositoryPort;
+import com.capitec.invoice.domain.ports.InvoiceServicePort.Summary;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code InvoiceService.summary} at ledger sizes. {@code summary} is the steady state served by
+ * the projection; {@code rebase} is the full recompute it falls back to at midnight and on
+ * reconcile, here aggregated over domain invoices in memory instead of in SQL; {@code paymentDelta}
+ * is the per-write cost of keeping the projection current.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SummaryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int invoices;
+
+    private SummaryProjection projection;
+    private InvoiceService service;
+    private Invoice before;
+    private Invoice after;
+
+    @Setup
+    public void setUp() {
+        List<Invoice> ledger = new ArrayList<>(invoices);
+        for (long id = 1; id <= invoices; id++) ledger.add(BenchmarkFixtures.invoice(id, 3));
+        InvoiceRepositoryPort repository = (InvoiceRepositoryPort) Proxy.newProxyInstance(
+                InvoiceRepositoryPort.class.getClassLoader(), new Class<?>[]{InvoiceRepositoryPort.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("summarize")) return summarize(ledger, (LocalDate) args[0]);
+                    if (method.getDeclaringClass() == Object.class) return method.invoke(ledger, args);
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        projection = new SummaryProjection(repository);
+        service = new InvoiceService(repository, null, projection, new InvoiceSearchIndex(repository),
+                new AgingReportCache(32, Duration.ofMinutes(5)));
+        service.summary();
+
+        before = BenchmarkFixtures.invoice(1, 3);
+        after = BenchmarkFixtures.invoice(1, 3);
+        after.setAmountPaid(before.getAmountPaid().add(BigDecimal.ONE));
+    }
+
+    @Benchmark
+    public Summary summary() {
+        return service.summary();
+    }
+
+    @Benchmark
+    public void rebase() {
+        projection.rollover();
+    }
+
+    @Benchmark
+    public void paymentDelta() {
+        projection.endWrite(projection.beginWrite(before), after);
+        projection.endWrite(projection.beginWrite(after), before);
+    }
+
+    private static Summary summarize(List<Invoice> ledger, LocalDate today) {
+        Summary s = new Summary();
+        s.totalPaid = BigDecimal.ZERO;
+        s.totalOutstanding = BigDecimal.ZERO;
+        for (Invoice inv : ledger) {
+            s.totalInvoices++;
+            if (inv.getStatus() == PaymentStatus.PAID) s.paidCount++;
+            else if (inv.getDueDate().isBefore(today)) s.overdueCount++;
+            s.totalPaid = s.totalPaid.add(inv.getAmountPaid());
+            s.totalOutstanding = s.totalOutstanding.add(inv.getBalanceDue());
+        }
+        return s;
+    }
+}
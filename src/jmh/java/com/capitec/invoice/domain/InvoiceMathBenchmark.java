@@ -0,0 +1,43 @@
+package com.capitec.invoice.domain;
+
+import com.capitec.invoice.BenchmarkFixtures;
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getBalanceDue} over large item lists: {@code cold} re-derives the total from the items
+ * (first read after {@code setItems}), {@code warm} hits the total the invoice keeps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InvoiceMathBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int items;
+
+    private Invoice invoice;
+    private List<InvoiceItem> itemList;
+
+    @Setup
+    public void setUp() {
+        invoice = BenchmarkFixtures.invoice(1, items);
+        itemList = invoice.getItems();
+    }
+
+    @Benchmark
+    public BigDecimal cold() {
+        invoice.setItems(itemList);
+        return invoice.getBalanceDue();
+    }
+
+    @Benchmark
+    public BigDecimal warm() {
+        return invoice.getBalanceDue();
+    }
+}
@@ -0,0 +1,69 @@
+package com.capitec.invoice.adapters.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: comma separated, double-quoted fields may contain commas, line breaks
+ * and doubled quotes. Reads one record at a time so memory is bounded by the longest record.
+ */
+final class CsvReader {
+
+    private static final int MAX_RECORD_CHARS = 1 << 20;
+
+    private final BufferedReader in;
+
+    CsvReader(Reader in) {
+        this.in = in instanceof BufferedReader b ? b : new BufferedReader(in);
+    }
+
+    /** Next record, or null at end of input. A blank line is returned as a single empty field. */
+    List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int length = 0;
+        int c;
+        while ((c = in.read()) != -1) {
+            any = true;
+            if (++length > MAX_RECORD_CHARS) {
+                throw new IOException("CSV record exceeds " + MAX_RECORD_CHARS + " characters");
+            }
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    int n = in.read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (n != -1) in.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                in.mark(1);
+                if (in.read() != '\n') in.reset();
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (quoted) throw new IOException("Unterminated quoted field at end of input");
+        if (!any) return null;
+        fields.add(field.toString());
+        return fields;
+    }
+}
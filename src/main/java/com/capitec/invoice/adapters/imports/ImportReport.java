@@ -0,0 +1,68 @@
+package com.capitec.invoice.adapters.imports;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of one import run. Only the first {@link #MAX_REJECTIONS} rejections are kept in full;
+ * the rest are counted.
+ */
+public class ImportReport {
+
+    public static final int MAX_REJECTIONS = 100;
+
+    public record Rejection(long row, String invoiceNumber, List<String> errors) {}
+
+    private final String importId;
+    private final long resumedFromRow;
+    private final long startedNanos = System.nanoTime();
+    private final List<Rejection> rejections = new ArrayList<>();
+    private long rowsRead;
+    private long rowsSkipped;
+    private long created;
+    private long rejected;
+    private long lastCommittedRow;
+    private long elapsedMillis;
+    private boolean complete;
+    private String error;
+
+    ImportReport(String importId, long resumedFromRow) {
+        this.importId = importId;
+        this.resumedFromRow = resumedFromRow;
+        this.lastCommittedRow = resumedFromRow;
+    }
+
+    public String getImportId() { return importId; }
+    public long getResumedFromRow() { return resumedFromRow; }
+    public long getRowsRead() { return rowsRead; }
+    public long getRowsSkipped() { return rowsSkipped; }
+    public long getCreated() { return created; }
+    public long getRejected() { return rejected; }
+    public List<Rejection> getRejections() { return Collections.unmodifiableList(rejections); }
+    public long getLastCommittedRow() { return lastCommittedRow; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    /** False when the run stopped early; submit the same input with the same import id to resume. */
+    public boolean isComplete() { return complete; }
+    public String getError() { return error; }
+
+    public double getInvoicesPerSecond() {
+        return elapsedMillis == 0 ? created : created * 1000.0 / elapsedMillis;
+    }
+
+    void rowRead() { rowsRead++; }
+    void rowSkipped() { rowsSkipped++; }
+    void createdOne() { created++; }
+    void committedThrough(long row) { lastCommittedRow = row; }
+
+    void rejectedOne(long row, String invoiceNumber, List<String> errors) {
+        rejected++;
+        if (rejections.size() < MAX_REJECTIONS) rejections.add(new Rejection(row, invoiceNumber, errors));
+    }
+
+    void finish(String error) {
+        this.error = error;
+        this.complete = error == null;
+        this.elapsedMillis = (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+}
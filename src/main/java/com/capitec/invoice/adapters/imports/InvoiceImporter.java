@@ -0,0 +1,317 @@
+package com.capitec.invoice.adapters.imports;
+
+import com.capitec.invoice.adapters.web.InvoiceDtoMapper;
+import com.capitec.invoice.adapters.web.dto.InvoiceDto;
+import com.capitec.invoice.adapters.web.dto.InvoiceItemDto;
+import com.capitec.invoice.domain.model.CreateResult;
+import com.capitec.invoice.domain.ports.ImportCheckpointPort;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams invoices from CSV or NDJSON into the service in chunks, holding at most one chunk in
+ * memory.
+ *
+ * <p>CSV input has a header row naming the columns {@code invoiceNumber, customerName, issueDate,
+ * dueDate, amountPaid, description, quantity, unitPrice} in any order and one row per line item;
+ * consecutive rows with the same invoice number make up one invoice. NDJSON input has one
+ * {@link InvoiceDto} per line. Rows are numbered from 1 after the CSV header (NDJSON: by line).
+ *
+ * <p>Each chunk is written with {@link InvoiceServicePort#createAll} and the last row it covers
+ * is then checkpointed under the import id. Re-submitting the same input with the same id skips
+ * rows up to the checkpoint. A crash between a chunk commit and its checkpoint replays that
+ * chunk, whose invoices are then rejected as duplicates, which is why invoice numbers are
+ * required here.
+ */
+@Component
+public class InvoiceImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceImporter.class);
+
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("invoiceNumber", "customerName", "issueDate", "dueDate", "description", "quantity", "unitPrice");
+    private static final int MAX_ITEMS_PER_INVOICE = 10_000;
+
+    private final InvoiceServicePort service;
+    private final ImportCheckpointPort checkpoints;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public InvoiceImporter(InvoiceServicePort service, ImportCheckpointPort checkpoints, Validator validator,
+                           ObjectMapper objectMapper, @Value("${invoice.import.chunk-size:500}") int chunkSize) {
+        this.service = service;
+        this.checkpoints = checkpoints;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the CSV header lacks a required column
+     * @throws IllegalStateException if an import with the same id is already running
+     */
+    public ImportReport importCsv(String importId, Reader input) {
+        return run(importId, run -> {
+            CsvReader csv = new CsvReader(input);
+            List<String> header = csv.next();
+            if (header == null) return;
+            Map<String, Integer> columns = columns(header);
+
+            Pending current = null;
+            long row = 0;
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                row++;
+                if (run.skip(row)) continue;
+                if (record.size() == 1 && record.get(0).isBlank()) continue;
+
+                String number = field(record, columns, "invoiceNumber");
+                if (current != null && (number == null || !number.equals(current.dto.invoiceNumber))) {
+                    run.offer(current);
+                    current = null;
+                }
+                if (current == null) {
+                    current = new Pending(row);
+                    readInvoiceFields(current, record, columns);
+                }
+                readItem(current, record, columns);
+                current.lastRow = row;
+                if (number == null) {
+                    run.offer(current);
+                    current = null;
+                }
+            }
+            if (current != null) run.offer(current);
+        });
+    }
+
+    /** As {@link #importCsv} but reads one JSON invoice per line. */
+    public ImportReport importNdjson(String importId, Reader input) {
+        return run(importId, run -> {
+            BufferedReader lines = input instanceof BufferedReader b ? b : new BufferedReader(input);
+            long row = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                row++;
+                if (run.skip(row) || line.isBlank()) continue;
+                Pending p = new Pending(row);
+                p.lastRow = row;
+                try {
+                    p.dto = objectMapper.readValue(line, InvoiceDto.class);
+                    p.dto.id = null;
+                } catch (JsonProcessingException e) {
+                    p.dto = new InvoiceDto();
+                    p.errors.add("Malformed JSON: " + e.getOriginalMessage());
+                }
+                run.offer(p);
+            }
+        });
+    }
+
+    private ImportReport run(String importId, Parser parser) {
+        String id = importId == null || importId.isBlank() ? UUID.randomUUID().toString() : importId;
+        if (!running.add(id)) {
+            throw new IllegalStateException("Import " + id + " is already running");
+        }
+        try {
+            Run run = new Run(id, checkpoints.lastCommittedRow(id));
+            try {
+                parser.parse(run);
+                run.flush();
+                run.report.finish(null);
+            } catch (ChunkFailedException e) {
+                run.report.finish(e.getMessage());
+            } catch (IOException | UncheckedIOException e) {
+                // keep what was parsed before the input broke off
+                try {
+                    run.flush();
+                    run.report.finish("Input error: " + e.getMessage());
+                } catch (ChunkFailedException f) {
+                    run.report.finish(f.getMessage());
+                }
+            }
+            ImportReport r = run.report;
+            log.info("Import {} {}: {} rows read, {} skipped, {} created, {} rejected in {} ms ({} invoices/s)",
+                    id, r.isComplete() ? "finished" : "stopped at row " + r.getLastCommittedRow(), r.getRowsRead(),
+                    r.getRowsSkipped(), r.getCreated(), r.getRejected(), r.getElapsedMillis(),
+                    String.format("%.1f", r.getInvoicesPerSecond()));
+            return r;
+        } finally {
+            running.remove(id);
+        }
+    }
+
+    private static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).strip();
+            if (i == 0 && name.startsWith("\uFEFF")) name = name.substring(1);
+            columns.put(name, i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing columns " + missing);
+        }
+        return columns;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer i = columns.get(name);
+        if (i == null || i >= record.size()) return null;
+        String value = record.get(i).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static void readInvoiceFields(Pending p, List<String> record, Map<String, Integer> columns) {
+        InvoiceDto dto = new InvoiceDto();
+        dto.invoiceNumber = field(record, columns, "invoiceNumber");
+        dto.customerName = field(record, columns, "customerName");
+        dto.issueDate = parse(p, "issueDate", field(record, columns, "issueDate"), LocalDate::parse);
+        dto.dueDate = parse(p, "dueDate", field(record, columns, "dueDate"), LocalDate::parse);
+        dto.amountPaid = parse(p, "amountPaid", field(record, columns, "amountPaid"), BigDecimal::new);
+        dto.items = new ArrayList<>();
+        p.dto = dto;
+    }
+
+    private static void readItem(Pending p, List<String> record, Map<String, Integer> columns) {
+        String description = field(record, columns, "description");
+        String quantity = field(record, columns, "quantity");
+        String unitPrice = field(record, columns, "unitPrice");
+        if (description == null && quantity == null && unitPrice == null) return; // invoice without items
+        if (p.dto.items.size() == MAX_ITEMS_PER_INVOICE) {
+            p.errors.add("items: more than " + MAX_ITEMS_PER_INVOICE + " items");
+        }
+        if (p.dto.items.size() >= MAX_ITEMS_PER_INVOICE) return;
+        InvoiceItemDto item = new InvoiceItemDto();
+        item.description = description;
+        Integer q = parse(p, "quantity", quantity, Integer::valueOf);
+        item.quantity = q == null ? 0 : q;
+        item.unitPrice = parse(p, "unitPrice", unitPrice, BigDecimal::new);
+        p.dto.items.add(item);
+    }
+
+    private static <T> T parse(Pending p, String name, String value, ValueParser<T> parser) {
+        if (value == null) return null;
+        try {
+            return parser.parse(value);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            p.errors.add(name + " '" + value + "' is not valid");
+            return null;
+        }
+    }
+
+    /** One invoice read from the input and not yet written. */
+    private static final class Pending {
+        final long firstRow;
+        final List<String> errors = new ArrayList<>();
+        long lastRow;
+        InvoiceDto dto;
+
+        Pending(long firstRow) {
+            this.firstRow = firstRow;
+        }
+    }
+
+    /** State of one import: the chunk being filled and how far the input has been consumed. */
+    private final class Run {
+        final String importId;
+        final long checkpoint;
+        final ImportReport report;
+        final List<Pending> chunk = new ArrayList<>();
+        long offeredThrough;
+
+        Run(String importId, long checkpoint) {
+            this.importId = importId;
+            this.checkpoint = checkpoint;
+            this.report = new ImportReport(importId, checkpoint);
+            this.offeredThrough = checkpoint;
+        }
+
+        boolean skip(long row) {
+            report.rowRead();
+            if (row > checkpoint) return false;
+            report.rowSkipped();
+            return true;
+        }
+
+        void offer(Pending p) {
+            offeredThrough = p.lastRow;
+            if (p.errors.isEmpty()) {
+                if (p.dto.invoiceNumber == null || p.dto.invoiceNumber.isBlank()) {
+                    p.errors.add("invoiceNumber is required for imports");
+                }
+                validator.validate(p.dto).stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage()).sorted().forEach(p.errors::add);
+            }
+            if (!p.errors.isEmpty()) {
+                report.rejectedOne(p.firstRow, p.dto.invoiceNumber, p.errors);
+            } else {
+                chunk.add(p);
+                if (chunk.size() >= chunkSize) flush();
+            }
+        }
+
+        void flush() {
+            if (!chunk.isEmpty()) {
+                List<CreateResult> results = service.createAll(chunk.stream().map(p -> InvoiceDtoMapper.fromDto(p.dto)).toList());
+                CreateResult failure = results.stream().filter(CreateResult::isFailed).findFirst().orElse(null);
+                if (failure != null) {
+                    throw new ChunkFailedException("Chunk ending at row " + offeredThrough + " was not written: " + failure.getError());
+                }
+                for (int i = 0; i < results.size(); i++) {
+                    CreateResult r = results.get(i);
+                    Pending p = chunk.get(i);
+                    if (r.isCreated()) {
+                        report.createdOne();
+                    } else {
+                        report.rejectedOne(p.firstRow, p.dto.invoiceNumber, List.of(r.getError()));
+                    }
+                }
+                chunk.clear();
+            }
+            if (offeredThrough > report.getLastCommittedRow()) {
+                checkpoints.save(importId, offeredThrough);
+                report.committedThrough(offeredThrough);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Parser {
+        void parse(Run run) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ValueParser<T> {
+        T parse(String value);
+    }
+
+    private static class ChunkFailedException extends RuntimeException {
+        ChunkFailedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.capitec.invoice.adapters.metrics;
+
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every {@link InvoiceServicePort} and {@code InvoiceRepositoryPort} call as
+ * {@code invoice.port} tagged with port, method and outcome; the timer count doubles as the call
+ * counter. Runs outside the transaction advice, so repository timings include the commit.
+ *
+ * <p>A call made by one adapter of a port to another adapter of the same port (the JDBC read
+ * adapter delegating writes to JPA) is timed once, at the outer call.
+ *
+ * <p>The success timer of each method is looked up once and kept, so the hot path costs one map
+ * read and two clock reads; error timers are tagged with the exception and registered on demand.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PortMetricsAspect {
+
+    static final String METRIC = "invoice.port";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<Method, Timer> successTimers = new ConcurrentHashMap<>();
+    private final ThreadLocal<boolean[]> inside = ThreadLocal.withInitial(() -> new boolean[2]); // [service, repository]
+
+    public PortMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* com.capitec.invoice.domain.ports.InvoiceServicePort.*(..))"
+            + " || execution(* com.capitec.invoice.domain.ports.InvoiceRepositoryPort.*(..))")
+    public Object time(ProceedingJoinPoint call) throws Throwable {
+        Method method = ((MethodSignature) call.getSignature()).getMethod();
+        boolean service = call.getTarget() instanceof InvoiceServicePort;
+        String port = service ? "service" : "repository";
+        boolean[] active = inside.get();
+        int slot = service ? 0 : 1;
+        if (active[slot]) return call.proceed();
+        active[slot] = true;
+        long started = System.nanoTime();
+        try {
+            Object result = call.proceed();
+            successTimers.computeIfAbsent(method, m -> timer(port, m.getName(), "success", "none"))
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable t) {
+            timer(port, method.getName(), "error", t.getClass().getSimpleName())
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            throw t;
+        } finally {
+            active[slot] = false;
+        }
+    }
+
+    private Timer timer(String port, String method, String outcome, String exception) {
+        return Timer.builder(METRIC)
+                .description("Calls to the invoice service and repository ports")
+                .tags("port", port, "method", method, "outcome", outcome, "exception", exception)
+                .register(registry);
+    }
+}
@@ -0,0 +1,14 @@
+package com.capitec.invoice.adapters.pdf;
+
+public class CachedPdf {
+    private final byte[] bytes;
+    private final long renderedAt;
+
+    public CachedPdf(byte[] bytes, long renderedAt) {
+        this.bytes = bytes;
+        this.renderedAt = renderedAt;
+    }
+
+    public byte[] getBytes() { return bytes; }
+    public long getRenderedAt() { return renderedAt; }
+}
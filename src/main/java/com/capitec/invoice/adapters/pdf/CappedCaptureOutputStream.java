@@ -0,0 +1,59 @@
+package com.capitec.invoice.adapters.pdf;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes through to the target stream and keeps a copy of the bytes until {@code cap} is
+ * exceeded, after which the copy is dropped. Lets a streamed PDF be cached when it is small
+ * without ever buffering a large one.
+ */
+class CappedCaptureOutputStream extends OutputStream {
+
+    private final OutputStream target;
+    private final int cap;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+    CappedCaptureOutputStream(OutputStream target, int cap) {
+        this.target = target;
+        this.cap = cap;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        target.write(b);
+        capture(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        target.write(b, off, len);
+        capture(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        target.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // the servlet container owns the response stream
+        flush();
+    }
+
+    /** The captured bytes, or null if the output outgrew the cap. */
+    byte[] captured() {
+        return copy == null ? null : copy.toByteArray();
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        if (copy == null) return;
+        if (copy.size() + len > cap) {
+            copy = null;
+        } else {
+            copy.write(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.capitec.invoice.adapters.pdf;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress and outcome of one bulk PDF export. Counters are updated by render workers while the
+ * job runs and can be read at any time.
+ */
+public class ExportJob {
+
+    public enum State { QUEUED, RUNNING, DONE, FAILED, CANCELLED }
+
+    public enum Format { ZIP, PDF }
+
+    private final String id;
+    private final Format format;
+    private final Instant createdAt = Instant.now();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong rendered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile State state = State.QUEUED;
+    private volatile boolean listingComplete;
+    private volatile boolean cancelRequested;
+    private volatile Instant finishedAt;
+    private volatile Path workDir;
+    private volatile Path file;
+    private volatile String error;
+
+    public ExportJob(String id, Format format) {
+        this.id = id;
+        this.format = format;
+    }
+
+    public String getId() { return id; }
+    public Format getFormat() { return format; }
+    public Instant getCreatedAt() { return createdAt; }
+    public State getState() { return state; }
+    public long getQueued() { return queued.get(); }
+    public long getRendered() { return rendered.get(); }
+    public long getFailed() { return failed.get(); }
+    public boolean isListingComplete() { return listingComplete; }
+    public boolean isCancelRequested() { return cancelRequested; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public Path getFile() { return file; }
+    public String getError() { return error; }
+
+    public boolean isFinished() {
+        return state == State.DONE || state == State.FAILED || state == State.CANCELLED;
+    }
+
+    void requestCancel() { cancelRequested = true; }
+    void running(Path workDir) { this.workDir = workDir; this.state = State.RUNNING; }
+    void queuedOne() { queued.incrementAndGet(); }
+    void renderedOne() { rendered.incrementAndGet(); }
+    void failedOne() { failed.incrementAndGet(); }
+    void listingComplete() { listingComplete = true; }
+    Path workDir() { return workDir; }
+
+    void done(Path file) { this.file = file; finish(State.DONE); }
+    void failed(String error) { this.error = error; finish(State.FAILED); }
+    void cancelled() { finish(State.CANCELLED); }
+
+    private void finish(State state) {
+        this.finishedAt = Instant.now();
+        this.state = state;
+    }
+}
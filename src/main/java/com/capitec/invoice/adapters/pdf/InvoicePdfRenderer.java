@@ -0,0 +1,166 @@
+package com.capitec.invoice.adapters.pdf;
+
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceItem;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the {@code invoice-pdf} Thymeleaf template to PDF and derives a content version for
+ * a rendered document, used as cache key and ETag.
+ *
+ * <p>openhtmltopdf renderers are single-use, so what is shared across renders is everything
+ * expensive to prepare: the parsed template (Thymeleaf's template cache) and the TrueType fonts
+ * from {@code invoice.pdf.font-dir}, read once at startup and handed to each builder from memory.
+ */
+@Component
+public class InvoicePdfRenderer {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoicePdfRenderer.class);
+
+    static final String TEMPLATE = "invoice-pdf";
+
+    private final TemplateEngine templateEngine;
+    private final byte[] templateFingerprint;
+    private final Map<String, byte[]> fonts;
+    private final Timer renderTime;
+    private final DistributionSummary renderSize;
+
+    public InvoicePdfRenderer(TemplateEngine templateEngine, @Value("${invoice.pdf.font-dir:}") String fontDir,
+                              MeterRegistry meters) {
+        this.templateEngine = templateEngine;
+        this.templateFingerprint = fingerprint("templates/" + TEMPLATE + ".html");
+        this.fonts = fontDir.isBlank() ? Map.of() : loadFonts(Path.of(fontDir));
+        this.renderTime = Timer.builder("invoice.pdf.render")
+                .description("Template and PDF rendering, cache misses only").register(meters);
+        this.renderSize = DistributionSummary.builder("invoice.pdf.size").baseUnit("bytes")
+                .description("Size of rendered PDFs").register(meters);
+    }
+
+    public byte[] render(Invoice invoice) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        render(invoice, baos);
+        return baos.toByteArray();
+    }
+
+    /** Renders straight into {@code out}; the stream is flushed but not closed. */
+    public void render(Invoice invoice, OutputStream out) {
+        long started = System.nanoTime();
+        CountingOutputStream counted = new CountingOutputStream(out);
+        Context ctx = new Context();
+        ctx.setVariable("invoice", invoice);
+        String html = templateEngine.process(TEMPLATE, ctx);
+
+        PdfRendererBuilder builder = new PdfRendererBuilder();
+        builder.useFastMode();
+        fonts.forEach((family, bytes) -> builder.useFont(() -> new ByteArrayInputStream(bytes), family));
+        builder.withHtmlContent(html, null);
+        builder.toStream(counted);
+        try {
+            builder.run();
+            counted.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        renderTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        renderSize.record(counted.count());
+    }
+
+    /**
+     * Renders into {@code out} and returns a copy of the document if it is at most
+     * {@code maxCopyBytes} long, or null if it was larger.
+     */
+    public byte[] renderCapturing(Invoice invoice, OutputStream out, int maxCopyBytes) {
+        CappedCaptureOutputStream tee = new CappedCaptureOutputStream(out, maxCopyBytes);
+        render(invoice, tee);
+        return tee.captured();
+    }
+
+    /**
+     * Hash of everything the template prints, plus the template itself, so a new deploy with a
+     * changed layout never serves a stale cached document.
+     */
+    public String version(Invoice invoice) {
+        MessageDigest md = sha256();
+        md.update(templateFingerprint);
+        update(md, invoice.getInvoiceNumber());
+        update(md, invoice.getCustomerName());
+        update(md, invoice.getStatus());
+        update(md, invoice.getIssueDate());
+        update(md, invoice.getDueDate());
+        update(md, invoice.getAmountPaid());
+        for (InvoiceItem it : invoice.getItems()) {
+            update(md, it.getDescription());
+            update(md, it.getQuantity());
+            update(md, it.getUnitPrice());
+        }
+        return HexFormat.of().formatHex(md.digest(), 0, 16);
+    }
+
+    private static void update(MessageDigest md, Object value) {
+        md.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+    }
+
+    private static Map<String, byte[]> loadFonts(Path dir) {
+        Map<String, byte[]> loaded = new LinkedHashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.ttf")) {
+            for (Path file : files) {
+                byte[] bytes = Files.readAllBytes(file);
+                try (TrueTypeFont ttf = new TTFParser().parse(new ByteArrayInputStream(bytes))) {
+                    loaded.put(ttf.getNaming().getFontFamily(), bytes);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load PDF fonts from " + dir, e);
+        }
+        log.info("Loaded {} PDF font families from {}: {}", loaded.size(), dir, loaded.keySet());
+        return loaded;
+    }
+
+    private static byte[] fingerprint(String resource) {
+        ClassPathResource template = new ClassPathResource(resource);
+        if (!template.exists()) return new byte[0];
+        try (InputStream in = template.getInputStream()) {
+            return sha256().digest(in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.capitec.invoice.adapters.pdf;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Rendered PDFs keyed by invoice id and content version, bounded by total byte size. When a
+ * spill directory is configured, documents evicted for size are written there and served from
+ * disk on a later miss instead of being rendered again. The directory keeps at most one file per
+ * invoice, the most recently rendered, and is itself bounded: past {@code spill-max-bytes} the
+ * oldest renders are deleted first.
+ */
+@Component
+public class PdfCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfCache.class);
+
+    // Removal listeners run asynchronously, so a size eviction queued before a delete can reach spill()
+    // after it. Ids are never reused; remembering them for a while is enough to drop those late spills.
+    private static final Duration DELETED_MEMORY = Duration.ofMinutes(10);
+
+    private final Cache<String, CachedPdf> cache;
+    private final Cache<Long, Boolean> deletedInvoices = Caffeine.newBuilder().expireAfterWrite(DELETED_MEMORY).build();
+    private final Path spillDir;
+    private final long spillMaxBytes;
+    private long spilledBytes; // guarded by this
+
+    public PdfCache(@Value("${invoice.pdf.cache.max-bytes:67108864}") long maxBytes,
+                    @Value("${invoice.pdf.cache.spill-dir:}") String spillDir,
+                    @Value("${invoice.pdf.cache.spill-max-bytes:1073741824}") long spillMaxBytes) throws IOException {
+        this.spillDir = spillDir.isBlank() ? null : Files.createDirectories(Path.of(spillDir));
+        this.spillMaxBytes = spillMaxBytes;
+        if (this.spillDir != null) {
+            for (Path file : spillFiles("invoice-*.pdf")) spilledBytes += Files.size(file);
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedPdf pdf) -> pdf.getBytes().length)
+                .removalListener((String key, CachedPdf pdf, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE && key != null && pdf != null) spill(key, pdf);
+                })
+                .recordStats()
+                .build();
+    }
+
+    public static String key(Long invoiceId, String version) {
+        return invoiceId + "-" + version;
+    }
+
+    public Optional<CachedPdf> get(String key) {
+        CachedPdf pdf = cache.getIfPresent(key);
+        if (pdf != null || spillDir == null) return Optional.ofNullable(pdf);
+        Path file = spillFile(key);
+        try {
+            return Optional.of(new CachedPdf(Files.readAllBytes(file), Files.getLastModifiedTime(file).toMillis()));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, CachedPdf pdf) {
+        cache.put(key, pdf);
+    }
+
+    /** Drops every cached and spilled version of a deleted invoice. */
+    public void evictInvoice(Long invoiceId) {
+        String prefix = invoiceId + "-";
+        cache.asMap().keySet().removeIf(k -> k.startsWith(prefix));
+        if (spillDir == null) return;
+        synchronized (this) {
+            deletedInvoices.put(invoiceId, Boolean.TRUE);
+            try {
+                for (Path file : spillFiles("invoice-" + prefix + "*.pdf")) delete(file);
+            } catch (IOException e) {
+                log.warn("Could not remove spilled PDFs of invoice {} from {}", invoiceId, spillDir, e);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "pdfs");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate()).tag("cache", "pdfs")
+                .description("Hits over requests since startup").register(registry);
+        Gauge.builder("cache.weighted.size", this, PdfCache::weightedSize).tag("cache", "pdfs").baseUnit("bytes")
+                .description("Bytes held by the PDF cache").register(registry);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long weightedSize() {
+        return cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    // Synchronized: removal listeners run concurrently, and each spill reads then replaces an invoice's file.
+    synchronized void spill(String key, CachedPdf pdf) {
+        String invoiceId = key.substring(0, key.indexOf('-'));
+        if (deletedInvoices.getIfPresent(Long.valueOf(invoiceId)) != null) return;
+        String invoicePrefix = "invoice-" + invoiceId + "-";
+        try {
+            // only the latest render of an invoice is worth keeping; an older version evicted late is dropped
+            List<Path> others = spillFiles(invoicePrefix + "*.pdf");
+            for (Path other : others) {
+                if (Files.getLastModifiedTime(other).toMillis() > pdf.getRenderedAt()) return;
+            }
+            for (Path other : others) delete(other);
+            Path tmp = Files.createTempFile(spillDir, "spill", ".tmp");
+            Files.write(tmp, pdf.getBytes());
+            Path target = spillFile(key);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.setLastModifiedTime(target, FileTime.fromMillis(pdf.getRenderedAt()));
+            spilledBytes += pdf.getBytes().length;
+            if (spilledBytes > spillMaxBytes) trimSpillDir();
+        } catch (IOException e) {
+            log.warn("Could not spill PDF {} to {}", key, spillDir, e);
+        }
+    }
+
+    private void trimSpillDir() throws IOException {
+        List<Path> files = new ArrayList<>(spillFiles("invoice-*.pdf"));
+        Map<Path, Long> renderedAt = new HashMap<>();
+        for (Path file : files) renderedAt.put(file, Files.getLastModifiedTime(file).toMillis());
+        files.sort(Comparator.comparing(renderedAt::get));
+        for (Path file : files) {
+            if (spilledBytes <= spillMaxBytes) break;
+            delete(file);
+        }
+    }
+
+    private void delete(Path file) throws IOException {
+        long size = Files.size(file);
+        if (Files.deleteIfExists(file)) spilledBytes -= size;
+    }
+
+    private List<Path> spillFiles(String glob) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> dir = Files.newDirectoryStream(spillDir, glob)) {
+            dir.forEach(files::add);
+        }
+        return files;
+    }
+
+    private Path spillFile(String key) {
+        return spillDir.resolve("invoice-" + key + ".pdf");
+    }
+}
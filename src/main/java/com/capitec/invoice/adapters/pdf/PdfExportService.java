@@ -0,0 +1,298 @@
+package com.capitec.invoice.adapters.pdf;
+
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceFilter;
+import com.capitec.invoice.domain.model.InvoicePage;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Renders many invoices to one ZIP or one merged PDF in the background.
+ *
+ * <p>A job walks its invoices page by page and hands each one to a bounded pool of render
+ * workers. At most {@code invoice.export.max-in-flight} renders are outstanding per job, so
+ * memory stays flat however many invoices are exported: ZIP entries are appended to a file on
+ * disk as they complete and merged PDFs are assembled from per-invoice part files. Workers also
+ * take a slot from {@link PdfRenderLimiter}, so exports share the render budget with interactive
+ * downloads. With {@code spring.threads.virtual.enabled} each render gets its own virtual thread
+ * and that limiter alone bounds how many run at once.
+ */
+@Component
+public class PdfExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfExportService.class);
+
+    private static final int PAGE_SIZE = 200;
+    private static final int MERGE_GROUP_SIZE = 100;
+
+    private final InvoiceServicePort service;
+    private final InvoicePdfRenderer renderer;
+    private final PdfRenderLimiter limiter;
+    private final ExecutorService coordinators;
+    private final ExecutorService workers;
+    private final int maxInFlight;
+    private final Path workDir;
+    private final Duration retention;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public PdfExportService(InvoiceServicePort service, InvoicePdfRenderer renderer, PdfRenderLimiter limiter,
+                            @Value("${invoice.export.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                            @Value("${invoice.export.workers:4}") int workers,
+                            @Value("${invoice.export.max-in-flight:16}") int maxInFlight,
+                            @Value("${invoice.export.work-dir:${java.io.tmpdir}}") String workDir,
+                            @Value("${invoice.export.retention:1h}") Duration retention,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) throws IOException {
+        this.service = service;
+        this.renderer = renderer;
+        this.limiter = limiter;
+        if (virtualThreads) {
+            // renders are bounded by the in-flight window and the shared limiter, not by a pool
+            this.coordinators = Executors.newFixedThreadPool(maxConcurrentJobs, Thread.ofVirtual().name("export-job-", 0).factory());
+            this.workers = Executors.newVirtualThreadPerTaskExecutor();
+        } else {
+            this.coordinators = Executors.newFixedThreadPool(maxConcurrentJobs);
+            this.workers = Executors.newFixedThreadPool(workers);
+        }
+        this.maxInFlight = maxInFlight;
+        this.workDir = Files.createDirectories(Path.of(workDir));
+        this.retention = retention;
+    }
+
+    /** Exports the given ids, or every invoice matching {@code filter} when {@code ids} is empty. */
+    public ExportJob start(List<Long> ids, InvoiceFilter filter, ExportJob.Format format) {
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), format);
+        jobs.put(job.getId(), job);
+        coordinators.execute(() -> run(job, ids, filter));
+        return job;
+    }
+
+    public Optional<ExportJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /** Stops a queued or running job; renders already in progress finish but are discarded. */
+    public Optional<ExportJob> cancel(String id) {
+        ExportJob job = jobs.get(id);
+        if (job != null && !job.isFinished()) job.requestCancel();
+        return Optional.ofNullable(job);
+    }
+
+    @Scheduled(fixedDelayString = "${invoice.export.cleanup-interval-ms:300000}")
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.getFinishedAt().isAfter(cutoff)) return false;
+            deleteQuietly(job.workDir());
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(ExportJob::requestCancel);
+        coordinators.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void run(ExportJob job, List<Long> ids, InvoiceFilter filter) {
+        if (job.isCancelRequested()) {
+            job.cancelled();
+            return;
+        }
+        try {
+            job.running(Files.createTempDirectory(workDir, "export-"));
+            Path file = job.getFormat() == ExportJob.Format.ZIP ? exportZip(job, ids, filter) : exportMerged(job, ids, filter);
+            if (job.isCancelRequested()) {
+                deleteQuietly(job.workDir());
+                job.cancelled();
+            } else {
+                job.done(file);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deleteQuietly(job.workDir());
+            job.cancelled();
+        } catch (Exception e) {
+            deleteQuietly(job.workDir());
+            if (job.isCancelRequested()) {
+                job.cancelled();
+            } else {
+                log.warn("PDF export {} failed", job.getId(), e);
+                job.failed(e.getMessage());
+            }
+        }
+    }
+
+    private Path exportZip(ExportJob job, List<Long> ids, InvoiceFilter filter) throws IOException, InterruptedException {
+        Path zipFile = job.workDir().resolve("invoices.zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(zipFile))) {
+            renderAll(job, ids, filter, (seq, inv, pdf) -> {
+                synchronized (zip) {
+                    zip.putNextEntry(new ZipEntry(fileName(inv)));
+                    zip.write(pdf);
+                    zip.closeEntry();
+                }
+            });
+            if (job.getRendered() == 0 && !job.isCancelRequested()) {
+                throw new IOException("No invoices were rendered");
+            }
+        }
+        return zipFile;
+    }
+
+    private Path exportMerged(ExportJob job, List<Long> ids, InvoiceFilter filter) throws IOException, InterruptedException {
+        Path parts = Files.createDirectory(job.workDir().resolve("parts"));
+        long count = renderAll(job, ids, filter, (seq, inv, pdf) -> Files.write(partFile(parts, seq), pdf));
+        List<Path> ordered = new ArrayList<>();
+        for (long seq = 0; seq < count && !job.isCancelRequested(); seq++) {
+            Path part = partFile(parts, seq);
+            if (Files.exists(part)) ordered.add(part); // failed renders leave gaps
+        }
+        if (ordered.isEmpty() && !job.isCancelRequested()) {
+            throw new IOException("No invoices were rendered");
+        }
+        Path merged = job.workDir().resolve("invoices.pdf");
+        merge(ordered, merged, job);
+        deleteQuietly(parts);
+        return merged;
+    }
+
+    /**
+     * Lists the job's invoices and renders them on the worker pool, passing each document to
+     * {@code sink} as it completes. Returns the number of invoices listed; sequence numbers
+     * handed to the sink run from zero in listing order.
+     */
+    private long renderAll(ExportJob job, List<Long> ids, InvoiceFilter filter, PdfSink sink) throws InterruptedException {
+        Semaphore window = new Semaphore(maxInFlight);
+        long[] seq = {0};
+        forEachInvoice(job, ids, filter, inv -> {
+            try {
+                window.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancelledException();
+            }
+            long n = seq[0]++;
+            job.queuedOne();
+            workers.execute(() -> {
+                try {
+                    if (job.isCancelRequested()) return;
+                    byte[] pdf;
+                    limiter.acquire();
+                    try {
+                        if (job.isCancelRequested()) return; // cancelled while waiting for a slot
+                        pdf = renderer.render(inv);
+                    } finally {
+                        limiter.release();
+                    }
+                    sink.accept(n, inv, pdf);
+                    job.renderedOne();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    log.warn("Export {} could not render invoice {}", job.getId(), inv.getId(), e);
+                    job.failedOne();
+                } finally {
+                    window.release();
+                }
+            });
+        });
+        job.listingComplete();
+        window.acquire(maxInFlight); // drain
+        return seq[0];
+    }
+
+    private void forEachInvoice(ExportJob job, List<Long> ids, InvoiceFilter filter, Consumer<Invoice> action) {
+        try {
+            if (ids != null && !ids.isEmpty()) {
+                for (Long id : ids) {
+                    if (job.isCancelRequested()) return;
+                    service.get(id).ifPresent(action);
+                }
+                return;
+            }
+            Long cursor = null;
+            do {
+                if (job.isCancelRequested()) return;
+                InvoicePage page = service.list(filter, cursor, PAGE_SIZE);
+                page.getItems().forEach(action);
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+        } catch (CancelledException e) {
+            job.requestCancel();
+        }
+    }
+
+    /** Merges in groups so no more than {@link #MERGE_GROUP_SIZE} source files are open at once. */
+    private void merge(List<Path> sources, Path target, ExportJob job) throws IOException {
+        if (sources.size() <= MERGE_GROUP_SIZE) {
+            PDFMergerUtility merger = new PDFMergerUtility();
+            merger.setDestinationFileName(target.toString());
+            for (Path source : sources) merger.addSource(source.toFile());
+            merger.mergeDocuments(MemoryUsageSetting.setupTempFileOnly());
+            return;
+        }
+        List<Path> groups = new ArrayList<>();
+        for (int from = 0; from < sources.size() && !job.isCancelRequested(); from += MERGE_GROUP_SIZE) {
+            Path group = Files.createTempFile(target.getParent(), "group-", ".pdf");
+            merge(sources.subList(from, Math.min(from + MERGE_GROUP_SIZE, sources.size())), group, job);
+            groups.add(group);
+        }
+        merge(groups, target, job);
+        groups.forEach(PdfExportService::deleteQuietly);
+    }
+
+    private static Path partFile(Path parts, long seq) {
+        return parts.resolve(String.format("part-%09d.pdf", seq));
+    }
+
+    private static String fileName(Invoice inv) {
+        String name = inv.getInvoiceNumber() == null ? String.valueOf(inv.getId()) : inv.getInvoiceNumber();
+        return "invoice-" + name.replaceAll("[^A-Za-z0-9._-]", "_") + ".pdf";
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null || !Files.exists(path)) return;
+        try (Stream<Path> tree = Files.walk(path)) {
+            tree.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Could not delete {}", path, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PdfSink {
+        void accept(long seq, Invoice invoice, byte[] pdf) throws IOException;
+    }
+
+    private static class CancelledException extends RuntimeException {
+    }
+}
@@ -0,0 +1,51 @@
+package com.capitec.invoice.adapters.pdf;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many PDFs render at once. Rendering is CPU and heap heavy, so a burst of downloads
+ * waits briefly for a slot and is then turned away rather than starving the JSON API of threads.
+ * On virtual threads waiting is cheap but cores are not, so this is what keeps renders from
+ * crowding out everything else.
+ */
+@Component
+public class PdfRenderLimiter {
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    public PdfRenderLimiter(@Value("${invoice.pdf.max-concurrent-renders:0}") int maxConcurrentRenders,
+                            @Value("${invoice.pdf.acquire-timeout:2s}") Duration acquireTimeout) {
+        int slots = maxConcurrentRenders > 0 ? maxConcurrentRenders : Runtime.getRuntime().availableProcessors();
+        this.permits = new Semaphore(slots, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /** Returns false if no slot frees up within the configured timeout. */
+    public boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** Blocks until a slot is free; for background work that should queue rather than fail. */
+    public void acquire() throws InterruptedException {
+        permits.acquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int available() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,80 @@
+package com.capitec.invoice.adapters.persistence;
+
+import com.capitec.invoice.adapters.persistence.jpa.CustomerEntity;
+import com.capitec.invoice.adapters.persistence.jpa.SpringDataCustomerRepository;
+import com.capitec.invoice.domain.model.Customer;
+import com.capitec.invoice.domain.ports.CustomerRepositoryPort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class CustomerRepositoryAdapter implements CustomerRepositoryPort {
+
+    private final SpringDataCustomerRepository repo;
+
+    public CustomerRepositoryAdapter(SpringDataCustomerRepository repo) {
+        this.repo = repo;
+    }
+
+    // Not transactional: new customers are committed before the invoices that reference them are written,
+    // and a name another request inserted first is simply read back.
+    @Override
+    public Map<String, Long> resolveIds(Collection<String> names) {
+        Set<String> wanted = names.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (wanted.isEmpty()) return Map.of();
+        Map<String, Long> ids = new HashMap<>();
+        repo.findByNameIn(wanted).forEach(c -> ids.put(c.getName(), c.getId()));
+        List<CustomerEntity> missing = wanted.stream().filter(n -> !ids.containsKey(n)).map(CustomerRepositoryAdapter::newCustomer).toList();
+        if (missing.isEmpty()) return ids;
+        try {
+            repo.saveAllAndFlush(missing).forEach(c -> ids.put(c.getName(), c.getId()));
+        } catch (DataIntegrityViolationException e) {
+            // one of them was created concurrently; fall back to one at a time
+            missing.forEach(c -> ids.put(c.getName(), create(c.getName())));
+        }
+        return ids;
+    }
+
+    private Long create(String name) {
+        try {
+            return repo.saveAndFlush(newCustomer(name)).getId();
+        } catch (DataIntegrityViolationException e) {
+            return repo.findByName(name).orElseThrow(() -> e).getId();
+        }
+    }
+
+    @Override
+    public Optional<Customer> findById(Long id) {
+        return repo.findById(id).map(CustomerRepositoryAdapter::toDomain);
+    }
+
+    @Override
+    public Optional<Customer> findByName(String name) {
+        return repo.findByName(name).map(CustomerRepositoryAdapter::toDomain);
+    }
+
+    private static CustomerEntity newCustomer(String name) {
+        CustomerEntity e = new CustomerEntity();
+        e.setName(name);
+        return e;
+    }
+
+    private static Customer toDomain(CustomerEntity e) {
+        Customer c = new Customer(e.getId(), e.getName());
+        c.setInvoiceCount(e.getInvoiceCount());
+        c.setTotalPaid(e.getTotalPaid());
+        c.setOutstanding(e.getOutstanding());
+        c.setOverdueCount(e.getOverdueCount());
+        c.setOverdueOutstanding(e.getOverdueOutstanding());
+        return c;
+    }
+}
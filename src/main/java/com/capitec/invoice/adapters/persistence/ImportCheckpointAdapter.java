@@ -0,0 +1,35 @@
+package com.capitec.invoice.adapters.persistence;
+
+import com.capitec.invoice.adapters.persistence.jpa.ImportCheckpointEntity;
+import com.capitec.invoice.adapters.persistence.jpa.SpringDataImportCheckpointRepository;
+import com.capitec.invoice.domain.ports.ImportCheckpointPort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Component
+public class ImportCheckpointAdapter implements ImportCheckpointPort {
+
+    private final SpringDataImportCheckpointRepository repo;
+
+    public ImportCheckpointAdapter(SpringDataImportCheckpointRepository repo) {
+        this.repo = repo;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long lastCommittedRow(String importId) {
+        return repo.findById(importId).map(ImportCheckpointEntity::getLastCommittedRow).orElse(0L);
+    }
+
+    @Override
+    @Transactional
+    public void save(String importId, long lastCommittedRow) {
+        ImportCheckpointEntity e = repo.findById(importId).orElseGet(ImportCheckpointEntity::new);
+        e.setImportId(importId);
+        e.setLastCommittedRow(lastCommittedRow);
+        e.setUpdatedAt(Instant.now());
+        repo.save(e);
+    }
+}
@@ -0,0 +1,103 @@
+package com.capitec.invoice.adapters.persistence;
+
+import com.capitec.invoice.domain.model.Invoice;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of mapped invoices by id. Caffeine's W-TinyLFU policy combines
+ * recency and frequency, so hot invoices survive a scan of cold ones. Callers get a copy of the
+ * cached instance because domain invoices are mutable.
+ */
+@Component
+public class InvoiceCache implements MeterBinder {
+
+    private final Cache<Long, Invoice> cache;
+
+    public InvoiceCache(@Value("${invoice.cache.invoices.maximum-size:10000}") long maximumSize,
+                        @Value("${invoice.cache.invoices.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Invoice> get(Long id, Function<Long, Optional<Invoice>> loader) {
+        Invoice cached = cache.get(id, key -> loader.apply(key).orElse(null));
+        return Optional.ofNullable(cached).map(InvoiceCache::copyOf);
+    }
+
+    /**
+     * Drops the entry now and again once the surrounding transaction completes, so a reader that
+     * reloads between the write and its commit cannot leave the old row cached.
+     */
+    public void evict(Long id) {
+        if (id == null) return;
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    /** As {@link #evict} for every entry, for bulk updates that do not know which rows they touched. */
+    public void evictAll() {
+        cache.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "invoices");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate()).tag("cache", "invoices")
+                .description("Hits over requests since startup").register(registry);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static Invoice copyOf(Invoice src) {
+        Invoice inv = new Invoice(src.getId());
+        inv.setInvoiceNumber(src.getInvoiceNumber());
+        inv.setCustomerName(src.getCustomerName());
+        inv.setCustomerId(src.getCustomerId());
+        inv.setIssueDate(src.getIssueDate());
+        inv.setDueDate(src.getDueDate());
+        inv.setStatus(src.getStatus());
+        inv.setAmountPaid(src.getAmountPaid());
+        // the item list and the items are immutable, so the copies share them
+        inv.setItems(src.getItems());
+        inv.setTotal(src.getTotal());
+        return inv;
+    }
+}
@@ -2,67 +2,324 @@ package com.capitec.invoice.adapters.persistence;
 
 import com.capitec.invoice.adapters.persistence.jpa.InvoiceEntity;
 import com.capitec.invoice.adapters.persistence.jpa.InvoiceItemEntity;
+import com.capitec.invoice.adapters.persistence.jpa.PaymentEntity;
+import com.capitec.invoice.adapters.persistence.jpa.SpringDataCustomerRepository;
 import com.capitec.invoice.adapters.persistence.jpa.SpringDataInvoiceRepository;
+import com.capitec.invoice.adapters.persistence.jpa.SpringDataPaymentRepository;
+import com.capitec.invoice.domain.model.AgingRow;
 import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceFilter;
 import com.capitec.invoice.domain.model.InvoiceItem;
+import com.capitec.invoice.domain.model.InvoicePage;
+import com.capitec.invoice.domain.model.Payment;
 import com.capitec.invoice.domain.model.PaymentStatus;
 import com.capitec.invoice.domain.ports.InvoiceRepositoryPort;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.time.LocalDate;
 
 @Component
 public class InvoiceRepositoryAdapter implements InvoiceRepositoryPort {
 
+    private static final int STREAM_WINDOW = 100;
+    private static final int STREAM_FETCH_SIZE = 500;
+
     private final SpringDataInvoiceRepository jpaRepo;
+    private final SpringDataPaymentRepository paymentRepo;
+    private final SpringDataCustomerRepository customerRepo;
+    private final InvoiceCache cache;
+    private final EntityManager entityManager;
 
-    public InvoiceRepositoryAdapter(SpringDataInvoiceRepository jpaRepo) {
+    public InvoiceRepositoryAdapter(SpringDataInvoiceRepository jpaRepo, SpringDataPaymentRepository paymentRepo,
+                                    SpringDataCustomerRepository customerRepo, InvoiceCache cache, EntityManager entityManager) {
         this.jpaRepo = jpaRepo;
+        this.paymentRepo = paymentRepo;
+        this.customerRepo = customerRepo;
+        this.cache = cache;
+        this.entityManager = entityManager;
     }
 
     @Override
     @Transactional
     public Invoice save(Invoice invoice) {
+        cache.evict(invoice.getId());
+        retractTotals(invoice.getId() == null ? List.of() : List.of(invoice.getId()));
         InvoiceEntity entity = toEntity(invoice);
         // handle bidirectional
         entity.getItems().forEach(it -> it.setInvoice(entity));
         InvoiceEntity saved = jpaRepo.save(entity);
+        restoreTotals(List.of(saved.getId()));
         return toDomain(saved);
     }
 
+    @Override
+    @Transactional
+    public List<Invoice> saveAll(List<Invoice> invoices) {
+        retractTotals(invoices.stream().map(Invoice::getId).filter(Objects::nonNull).toList());
+        List<InvoiceEntity> entities = invoices.stream().map(inv -> {
+            InvoiceEntity entity = toEntity(inv);
+            entity.getItems().forEach(it -> it.setInvoice(entity));
+            return entity;
+        }).collect(Collectors.toList());
+        // new entities are persisted, so the inserts are flushed as batches (before the totals update reads them)
+        List<InvoiceEntity> saved = jpaRepo.saveAll(entities);
+        restoreTotals(saved.stream().map(InvoiceEntity::getId).toList());
+        return saved.stream().map(this::toDomain).collect(Collectors.toList());
+    }
+
+    @Override
+    public Set<String> findExistingInvoiceNumbers(Collection<String> invoiceNumbers) {
+        if (invoiceNumbers.isEmpty()) return Set.of();
+        return new HashSet<>(jpaRepo.findExistingInvoiceNumbers(invoiceNumbers));
+    }
+
     @Override
     public Optional<Invoice> findById(Long id) {
-        return jpaRepo.findById(id).map(this::toDomain);
+        // the entity graph initialises items, so mapping needs no surrounding transaction on a miss
+        return cache.get(id, key -> jpaRepo.findById(key).map(this::toDomain));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Invoice> findAll() {
         return jpaRepo.findAll().stream().map(this::toDomain).collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public InvoicePage findPage(InvoiceFilter filter, Long afterId, int limit) {
+        // fetch one extra row to learn whether another page exists without a count query
+        List<InvoiceEntity> rows = filtered(filter, afterId == null ? 0L : afterId)
+                .setMaxResults(limit + 1)
+                .getResultList();
+        List<Invoice> items = rows.stream().limit(limit).map(this::toDomain).collect(Collectors.toList());
+        Long nextCursor = rows.size() > limit ? items.get(items.size() - 1).getId() : null;
+        return new InvoicePage(items, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(InvoiceFilter filter, Consumer<Invoice> action) {
+        // map a window at a time so @BatchSize loads its items in one query, then clear the
+        // persistence context so a full-ledger scan does not accumulate managed entities
+        try (Stream<InvoiceEntity> rows = filtered(filter, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream()) {
+            List<InvoiceEntity> window = new ArrayList<>(STREAM_WINDOW);
+            Iterator<InvoiceEntity> it = rows.iterator();
+            while (it.hasNext()) {
+                window.add(it.next());
+                if (window.size() == STREAM_WINDOW) emit(window, action);
+            }
+            emit(window, action);
+        }
+    }
+
+    // Keyset-ordered query with a predicate only for each filter that is set: "(:x is null or col = :x)"
+    // cannot use an index once bound, so the status, customer and due-date indexes would sit idle.
+    // No fetch join (it would paginate in memory); items arrive through @BatchSize instead.
+    private TypedQuery<InvoiceEntity> filtered(InvoiceFilter filter, Long afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InvoiceEntity> query = cb.createQuery(InvoiceEntity.class);
+        Root<InvoiceEntity> i = query.from(InvoiceEntity.class);
+        List<Predicate> where = new ArrayList<>();
+        if (afterId != null) where.add(cb.greaterThan(i.<Long>get("id"), afterId));
+        if (filter.getStatus() != null) where.add(cb.equal(i.get("status"), filter.getStatus().name()));
+        if (filter.getCustomerName() != null) where.add(cb.equal(i.get("customerName"), filter.getCustomerName()));
+        if (filter.getDueFrom() != null) where.add(cb.greaterThanOrEqualTo(i.<LocalDate>get("dueDate"), filter.getDueFrom()));
+        if (filter.getDueTo() != null) where.add(cb.lessThanOrEqualTo(i.<LocalDate>get("dueDate"), filter.getDueTo()));
+        query.select(i).where(where.toArray(Predicate[]::new)).orderBy(cb.asc(i.get("id")));
+        return entityManager.createQuery(query);
+    }
+
+    private void emit(List<InvoiceEntity> window, Consumer<Invoice> action) {
+        List<Invoice> mapped = window.stream().map(this::toDomain).collect(Collectors.toList());
+        window.clear();
+        entityManager.clear();
+        mapped.forEach(action);
+    }
+
+    @Override
+    @Transactional
     public void deleteById(Long id) {
+        cache.evict(id);
+        retractTotals(List.of(id));
         jpaRepo.deleteById(id);
+        cache.evict(id);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Invoice> addPayment(Payment payment) {
+        Long id = payment.getInvoiceId();
+        cache.evict(id);
+        retractTotals(List.of(id));
+        if (jpaRepo.addToAmountPaid(id, payment.getAmount()) == 0) return Optional.empty();
+        // a reused idempotency key fails here and rolls the increment back with it
+        payment.setId(paymentRepo.saveAndFlush(toEntity(payment, null)).getId());
+        restoreTotals(List.of(id));
+        // the update holds the row lock until commit, so this read sees our increment on top of every earlier one
+        return jpaRepo.findById(id).map(this::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public List<Invoice> applyPayments(List<Payment> payments) {
+        String batchId = UUID.randomUUID().toString();
+        List<PaymentEntity> rows = payments.stream().map(p -> toEntity(p, batchId)).collect(Collectors.toList());
+        paymentRepo.saveAll(rows);
+        for (int i = 0; i < rows.size(); i++) payments.get(i).setId(rows.get(i).getId());
+        Set<Long> ids = payments.stream().map(Payment::getInvoiceId).collect(Collectors.toSet());
+        ids.forEach(cache::evict);
+        retractTotals(ids);
+        jpaRepo.applyPaymentBatch(batchId);
+        restoreTotals(ids);
+        return jpaRepo.findByIdIn(ids).stream().map(this::toDomain).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public boolean updateStatus(Long id, PaymentStatus status, BigDecimal expectedAmountPaid) {
+        cache.evict(id);
+        retractTotals(List.of(id));
+        boolean updated = jpaRepo.updateStatusIfAmountPaid(id, status.name(), expectedAmountPaid) == 1;
+        restoreTotals(List.of(id));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public Set<Long> updateStatuses(List<Invoice> invoices) {
+        Set<Long> stale = new HashSet<>();
+        List<Long> ids = invoices.stream().map(Invoice::getId).toList();
+        retractTotals(ids);
+        for (Invoice inv : invoices) {
+            cache.evict(inv.getId());
+            if (jpaRepo.updateStatusIfAmountPaid(inv.getId(), inv.getStatus().name(), inv.getAmountPaid()) == 0) {
+                stale.add(inv.getId());
+            }
+        }
+        restoreTotals(ids);
+        return stale;
     }
 
     @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return Set.of();
+        return new HashSet<>(jpaRepo.findExistingIds(ids));
+    }
+
+    @Override
+    public Optional<Payment> findPaymentByIdempotencyKey(String idempotencyKey) {
+        return paymentRepo.findByIdempotencyKey(idempotencyKey).map(this::toDomain);
+    }
+
+    @Override
+    public Set<String> findExistingIdempotencyKeys(Collection<String> keys) {
+        if (keys.isEmpty()) return Set.of();
+        return new HashSet<>(paymentRepo.findExistingIdempotencyKeys(keys));
+    }
+
+    @Override
+    public List<Payment> findPayments(Long invoiceId) {
+        return paymentRepo.findByInvoiceIdOrderById(invoiceId).stream().map(this::toDomain).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Invoice> findOverdue(LocalDate today) {
         return jpaRepo.findOverdue(today).stream().map(this::toDomain).collect(Collectors.toList());
     }
 
-    private InvoiceEntity toEntity(Invoice inv) {
+    @Override
+    @Transactional
+    public int markOverdue(LocalDate today, long fromId, long toId) {
+        List<Long> ids = jpaRepo.lockOverdueCandidates(today, fromId, toId);
+        if (ids.isEmpty()) return 0;
+        customerRepo.adjustTotals(ids, -1);
+        int updated = jpaRepo.markOverdue(ids);
+        customerRepo.adjustTotals(ids, 1);
+        ids.forEach(cache::evict);
+        return updated;
+    }
+
+    // Customer totals: a write locks its existing invoice rows, takes their contribution off their customers'
+    // totals, changes them and adds the new contribution back, all in its own transaction.
+    private void retractTotals(Collection<Long> ids) {
+        if (ids.isEmpty()) return;
+        jpaRepo.lockForUpdate(ids);
+        customerRepo.adjustTotals(ids, -1);
+    }
+
+    private void restoreTotals(Collection<Long> ids) {
+        if (!ids.isEmpty()) customerRepo.adjustTotals(ids, 1);
+    }
+
+    @Override
+    public long maxId() {
+        return jpaRepo.findMaxId();
+    }
+
+    @Override
+    public InvoiceServicePort.Summary summarize(LocalDate today) {
+        SpringDataInvoiceRepository.SummaryRow row = jpaRepo.summarize(today);
+        InvoiceServicePort.Summary s = new InvoiceServicePort.Summary();
+        s.totalInvoices = row.getTotalInvoices().longValue();
+        s.paidCount = row.getPaidCount().longValue();
+        s.overdueCount = row.getOverdueCount().longValue();
+        s.totalPaid = toBigDecimal(row.getTotalPaid());
+        s.totalOutstanding = toBigDecimal(row.getTotalOutstanding());
+        return s;
+    }
+
+    @Override
+    public List<AgingRow> aging(LocalDate asOf) {
+        return jpaRepo.aging(asOf, asOf.minusDays(30), asOf.minusDays(60), asOf.minusDays(90)).stream()
+                .map(v -> new AgingRow(v.getCustomerId(), v.getCustomerName(), v.getInvoiceCount().longValue(),
+                        toBigDecimal(v.getNotDue()), toBigDecimal(v.getDays0To30()), toBigDecimal(v.getDays31To60()),
+                        toBigDecimal(v.getDays61To90()), toBigDecimal(v.getOver90())))
+                .collect(Collectors.toList());
+    }
+
+    private static BigDecimal toBigDecimal(Number n) {
+        return n instanceof BigDecimal ? (BigDecimal) n : new BigDecimal(n.toString());
+    }
+
+    // package-private for the mapping benchmark
+    InvoiceEntity toEntity(Invoice inv) {
         InvoiceEntity e = new InvoiceEntity();
         e.setId(inv.getId());
         e.setInvoiceNumber(inv.getInvoiceNumber());
         e.setCustomerName(inv.getCustomerName());
+        e.setCustomerId(inv.getCustomerId());
         e.setIssueDate(inv.getIssueDate());
         e.setDueDate(inv.getDueDate());
         e.setStatus(inv.getStatus() == null ? null : inv.getStatus().name());
         e.setAmountPaid(inv.getAmountPaid());
+        e.setTotal(inv.getTotal());
+        e.setBalanceDue(inv.getBalanceDue());
         List<InvoiceItemEntity> items = inv.getItems() == null ? List.of() : inv.getItems().stream().map(it -> {
             InvoiceItemEntity ie = new InvoiceItemEntity();
             ie.setId(it.getId());
@@ -75,24 +332,38 @@ public class InvoiceRepositoryAdapter implements InvoiceRepositoryPort {
         return e;
     }
 
-    private Invoice toDomain(InvoiceEntity e) {
+    Invoice toDomain(InvoiceEntity e) {
         Invoice inv = new Invoice();
         inv.setId(e.getId());
         inv.setInvoiceNumber(e.getInvoiceNumber());
         inv.setCustomerName(e.getCustomerName());
+        inv.setCustomerId(e.getCustomerId());
         inv.setIssueDate(e.getIssueDate());
         inv.setDueDate(e.getDueDate());
         inv.setStatus(e.getStatus() == null ? null : PaymentStatus.valueOf(e.getStatus()));
         inv.setAmountPaid(e.getAmountPaid());
-        List<InvoiceItem> items = e.getItems() == null ? List.of() : e.getItems().stream().map(ie -> {
-            InvoiceItem it = new InvoiceItem();
-            it.setId(ie.getId());
-            it.setDescription(ie.getDescription());
-            it.setQuantity(ie.getQuantity());
-            it.setUnitPrice(ie.getUnitPrice());
-            return it;
-        }).collect(Collectors.toList());
+        List<InvoiceItem> items = e.getItems() == null ? List.of() : e.getItems().stream()
+                .map(ie -> new InvoiceItem(ie.getId(), ie.getDescription(), ie.getQuantity(), ie.getUnitPrice()))
+                .collect(Collectors.toList());
         inv.setItems(items);
+        inv.setTotal(e.getTotal());
         return inv;
     }
+
+    private PaymentEntity toEntity(Payment p, String batchId) {
+        PaymentEntity e = new PaymentEntity();
+        e.setInvoiceId(p.getInvoiceId());
+        e.setAmount(p.getAmount());
+        e.setIdempotencyKey(p.getIdempotencyKey());
+        e.setReceivedAt(p.getReceivedAt());
+        e.setBatchId(batchId);
+        return e;
+    }
+
+    private Payment toDomain(PaymentEntity e) {
+        Payment p = new Payment(e.getInvoiceId(), e.getAmount(), e.getIdempotencyKey());
+        p.setId(e.getId());
+        p.setReceivedAt(e.getReceivedAt());
+        return p;
+    }
 }
@@ -0,0 +1,244 @@
+package com.capitec.invoice.adapters.persistence;
+
+import com.capitec.invoice.domain.model.AgingRow;
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceFilter;
+import com.capitec.invoice.domain.model.InvoiceItem;
+import com.capitec.invoice.domain.model.InvoicePage;
+import com.capitec.invoice.domain.model.Payment;
+import com.capitec.invoice.domain.model.PaymentStatus;
+import com.capitec.invoice.domain.ports.InvoiceRepositoryPort;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Serves the hot reads (get, list, overdue, summary) with plain SQL, mapping rows straight into
+ * domain invoices instead of going through managed entities, a persistence context and a copy.
+ * Everything else, writes included, is delegated to the JPA adapter. Selected with
+ * {@code invoice.persistence.read-adapter=jdbc}.
+ *
+ * <p>{@link #findById} goes through the same {@link InvoiceCache} the JPA adapter evicts on
+ * writes, so caching behaves the same with either adapter.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "invoice.persistence.read-adapter", havingValue = "jdbc")
+public class JdbcInvoiceRepositoryAdapter implements InvoiceRepositoryPort {
+
+    private static final String INVOICE_COLUMNS = "i.id, i.invoice_number, i.customer_name, i.customer_id, i.issue_date, i.due_date,"
+            + " i.status, i.amount_paid, i.total";
+    private static final String ITEM_COLUMNS = "it.id as item_id, it.description, it.quantity, it.unit_price";
+
+    private final InvoiceRepositoryAdapter jpa;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final InvoiceCache cache;
+
+    public JdbcInvoiceRepositoryAdapter(InvoiceRepositoryAdapter jpa, NamedParameterJdbcTemplate jdbc, InvoiceCache cache) {
+        this.jpa = jpa;
+        this.jdbc = jdbc;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<Invoice> findById(Long id) {
+        return cache.get(id, key -> joined("where i.id = :id", new MapSqlParameterSource("id", key)).stream().findFirst());
+    }
+
+    @Override
+    public InvoicePage findPage(InvoiceFilter filter, Long afterId, int limit) {
+        // same keyset contract as the JPA adapter: one extra row tells whether another page exists
+        StringBuilder sql = new StringBuilder("select ").append(INVOICE_COLUMNS).append(" from invoices i where i.id > :afterId");
+        MapSqlParameterSource params = new MapSqlParameterSource("afterId", afterId == null ? 0L : afterId);
+        if (filter.getStatus() != null) {
+            sql.append(" and i.status = :status");
+            params.addValue("status", filter.getStatus().name());
+        }
+        if (filter.getCustomerName() != null) {
+            sql.append(" and i.customer_name = :customerName");
+            params.addValue("customerName", filter.getCustomerName());
+        }
+        if (filter.getDueFrom() != null) {
+            sql.append(" and i.due_date >= :dueFrom");
+            params.addValue("dueFrom", filter.getDueFrom());
+        }
+        if (filter.getDueTo() != null) {
+            sql.append(" and i.due_date <= :dueTo");
+            params.addValue("dueTo", filter.getDueTo());
+        }
+        sql.append(" order by i.id fetch first :rows rows only");
+        params.addValue("rows", limit + 1);
+
+        List<Loaded> rows = jdbc.query(sql.toString(), params, (rs, n) -> new Loaded(rs));
+        List<Loaded> page = rows.size() > limit ? rows.subList(0, limit) : rows;
+        loadItems(page);
+        List<Invoice> items = new ArrayList<>(page.size());
+        for (Loaded row : page) items.add(row.complete());
+        Long nextCursor = rows.size() > limit ? items.get(items.size() - 1).getId() : null;
+        return new InvoicePage(items, nextCursor);
+    }
+
+    @Override
+    public List<Invoice> findOverdue(LocalDate today) {
+        return joined("where i.status <> 'PAID' and i.due_date < :today", new MapSqlParameterSource("today", today));
+    }
+
+    @Override
+    public InvoiceServicePort.Summary summarize(LocalDate today) {
+        return jdbc.queryForObject("select count(*) as total_invoices,"
+                        + " coalesce(sum(case when status = 'PAID' then 1 else 0 end), 0) as paid_count,"
+                        + " coalesce(sum(case when status <> 'PAID' and due_date < :today then 1 else 0 end), 0) as overdue_count,"
+                        + " coalesce(sum(amount_paid), 0) as total_paid,"
+                        + " coalesce(sum(balance_due), 0) as total_outstanding"
+                        + " from invoices",
+                new MapSqlParameterSource("today", today), (rs, n) -> {
+                    InvoiceServicePort.Summary s = new InvoiceServicePort.Summary();
+                    s.totalInvoices = rs.getLong("total_invoices");
+                    s.paidCount = rs.getLong("paid_count");
+                    s.overdueCount = rs.getLong("overdue_count");
+                    s.totalPaid = rs.getBigDecimal("total_paid");
+                    s.totalOutstanding = rs.getBigDecimal("total_outstanding");
+                    return s;
+                });
+    }
+
+    /** Invoices with their items in one left join, grouped in id order. */
+    private List<Invoice> joined(String where, MapSqlParameterSource params) {
+        String sql = "select " + INVOICE_COLUMNS + ", " + ITEM_COLUMNS
+                + " from invoices i left join invoice_items it on it.invoice_id = i.id " + where + " order by i.id, it.id";
+        return jdbc.query(sql, params, rs -> {
+            Map<Long, Loaded> byId = new LinkedHashMap<>();
+            while (rs.next()) {
+                Loaded row = byId.get(rs.getLong("id"));
+                if (row == null) {
+                    row = new Loaded(rs);
+                    byId.put(row.invoice.getId(), row);
+                }
+                rs.getLong("item_id");
+                if (!rs.wasNull()) row.items.add(item(rs));
+            }
+            List<Invoice> invoices = new ArrayList<>(byId.size());
+            for (Loaded row : byId.values()) invoices.add(row.complete());
+            return invoices;
+        });
+    }
+
+    /** One IN (...) query for the items of a page, as the JPA adapter's @BatchSize does. */
+    private void loadItems(List<Loaded> rows) {
+        if (rows.isEmpty()) return;
+        Map<Long, Loaded> byId = new HashMap<>();
+        for (Loaded row : rows) byId.put(row.invoice.getId(), row);
+        jdbc.query("select it.invoice_id, " + ITEM_COLUMNS + " from invoice_items it where it.invoice_id in (:ids) order by it.id",
+                new MapSqlParameterSource("ids", byId.keySet()),
+                rs -> {
+                    byId.get(rs.getLong("invoice_id")).items.add(item(rs));
+                });
+    }
+
+    private static Invoice invoice(ResultSet rs) throws SQLException {
+        Invoice inv = new Invoice(rs.getLong("id"));
+        inv.setInvoiceNumber(rs.getString("invoice_number"));
+        inv.setCustomerName(rs.getString("customer_name"));
+        long customerId = rs.getLong("customer_id");
+        inv.setCustomerId(rs.wasNull() ? null : customerId);
+        inv.setIssueDate(rs.getObject("issue_date", LocalDate.class));
+        inv.setDueDate(rs.getObject("due_date", LocalDate.class));
+        String status = rs.getString("status");
+        inv.setStatus(status == null ? null : PaymentStatus.valueOf(status));
+        inv.setAmountPaid(rs.getBigDecimal("amount_paid"));
+        return inv;
+    }
+
+    private static InvoiceItem item(ResultSet rs) throws SQLException {
+        return new InvoiceItem(rs.getLong("item_id"), rs.getString("description"), rs.getInt("quantity"),
+                rs.getBigDecimal("unit_price"));
+    }
+
+    /** An invoice row whose items are still arriving; {@link #complete} hands them over with the stored total. */
+    private static final class Loaded {
+        final Invoice invoice;
+        final BigDecimal total;
+        final List<InvoiceItem> items = new ArrayList<>();
+
+        Loaded(ResultSet rs) throws SQLException {
+            this.invoice = invoice(rs);
+            this.total = rs.getBigDecimal("total");
+        }
+
+        Invoice complete() {
+            invoice.setItems(items);
+            if (total != null) invoice.setTotal(total);
+            return invoice;
+        }
+    }
+
+    // Everything below is not on a hot read path and stays on JPA.
+
+    @Override
+    public Invoice save(Invoice invoice) { return jpa.save(invoice); }
+
+    @Override
+    public List<Invoice> saveAll(List<Invoice> invoices) { return jpa.saveAll(invoices); }
+
+    @Override
+    public Set<String> findExistingInvoiceNumbers(Collection<String> invoiceNumbers) { return jpa.findExistingInvoiceNumbers(invoiceNumbers); }
+
+    @Override
+    public List<Invoice> findAll() { return jpa.findAll(); }
+
+    @Override
+    public void forEach(InvoiceFilter filter, Consumer<Invoice> action) { jpa.forEach(filter, action); }
+
+    @Override
+    public void deleteById(Long id) { jpa.deleteById(id); }
+
+    @Override
+    public Optional<Invoice> addPayment(Payment payment) { return jpa.addPayment(payment); }
+
+    @Override
+    public List<Invoice> applyPayments(List<Payment> payments) { return jpa.applyPayments(payments); }
+
+    @Override
+    public boolean updateStatus(Long id, PaymentStatus status, BigDecimal expectedAmountPaid) { return jpa.updateStatus(id, status, expectedAmountPaid); }
+
+    @Override
+    public Set<Long> updateStatuses(List<Invoice> invoices) { return jpa.updateStatuses(invoices); }
+
+    @Override
+    public Set<Long> findExistingIds(Collection<Long> ids) { return jpa.findExistingIds(ids); }
+
+    @Override
+    public Optional<Payment> findPaymentByIdempotencyKey(String idempotencyKey) { return jpa.findPaymentByIdempotencyKey(idempotencyKey); }
+
+    @Override
+    public Set<String> findExistingIdempotencyKeys(Collection<String> keys) { return jpa.findExistingIdempotencyKeys(keys); }
+
+    @Override
+    public List<Payment> findPayments(Long invoiceId) { return jpa.findPayments(invoiceId); }
+
+    @Override
+    public int markOverdue(LocalDate today, long fromId, long toId) { return jpa.markOverdue(today, fromId, toId); }
+
+    @Override
+    public long maxId() { return jpa.maxId(); }
+
+    @Override
+    public List<AgingRow> aging(LocalDate asOf) { return jpa.aging(asOf); }
+}
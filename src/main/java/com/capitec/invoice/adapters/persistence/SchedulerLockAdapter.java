@@ -0,0 +1,41 @@
+package com.capitec.invoice.adapters.persistence;
+
+import com.capitec.invoice.adapters.persistence.jpa.SpringDataSchedulerLockRepository;
+import com.capitec.invoice.domain.ports.LeaderLockPort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+public class SchedulerLockAdapter implements LeaderLockPort {
+
+    private final SpringDataSchedulerLockRepository repo;
+
+    public SchedulerLockAdapter(SpringDataSchedulerLockRepository repo) {
+        this.repo = repo;
+    }
+
+    @Override
+    public boolean tryAcquire(String name, String owner, Duration ttl) {
+        Instant now = Instant.now();
+        if (repo.claim(name, owner, now, now.plus(ttl)) == 1) return true;
+        try {
+            return repo.insertIfAbsent(name, owner, now.plus(ttl)) == 1;
+        } catch (DataIntegrityViolationException e) {
+            return false; // another node created the row first and holds the lease
+        }
+    }
+
+    @Override
+    public boolean renew(String name, String owner, Duration ttl) {
+        Instant now = Instant.now();
+        return repo.extend(name, owner, now, now.plus(ttl)) == 1;
+    }
+
+    @Override
+    public void release(String name, String owner) {
+        repo.release(name, owner, Instant.now());
+    }
+}
@@ -0,0 +1,38 @@
+package com.capitec.invoice.adapters.persistence.jpa;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "customers")
+public class CustomerEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String name;
+
+    // Running totals over the customer's invoices, adjusted by SpringDataCustomerRepository.adjustTotals.
+    private long invoiceCount;
+    private BigDecimal totalPaid = BigDecimal.ZERO;
+    private BigDecimal outstanding = BigDecimal.ZERO;
+    private long overdueCount;
+    private BigDecimal overdueOutstanding = BigDecimal.ZERO;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public long getInvoiceCount() { return invoiceCount; }
+    public void setInvoiceCount(long invoiceCount) { this.invoiceCount = invoiceCount; }
+    public BigDecimal getTotalPaid() { return totalPaid; }
+    public void setTotalPaid(BigDecimal totalPaid) { this.totalPaid = totalPaid; }
+    public BigDecimal getOutstanding() { return outstanding; }
+    public void setOutstanding(BigDecimal outstanding) { this.outstanding = outstanding; }
+    public long getOverdueCount() { return overdueCount; }
+    public void setOverdueCount(long overdueCount) { this.overdueCount = overdueCount; }
+    public BigDecimal getOverdueOutstanding() { return overdueOutstanding; }
+    public void setOverdueOutstanding(BigDecimal overdueOutstanding) { this.overdueOutstanding = overdueOutstanding; }
+}
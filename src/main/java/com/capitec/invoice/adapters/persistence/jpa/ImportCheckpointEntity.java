@@ -0,0 +1,21 @@
+package com.capitec.invoice.adapters.persistence.jpa;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "import_checkpoints")
+public class ImportCheckpointEntity {
+    @Id
+    private String importId;
+
+    private long lastCommittedRow;
+    private Instant updatedAt;
+
+    public String getImportId() { return importId; }
+    public void setImportId(String importId) { this.importId = importId; }
+    public long getLastCommittedRow() { return lastCommittedRow; }
+    public void setLastCommittedRow(long lastCommittedRow) { this.lastCommittedRow = lastCommittedRow; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,22 +1,34 @@
 package com.capitec.invoice.adapters.persistence.jpa;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices", indexes = {
+        // status filter and the overdue sweep; due_date alone serves findOverdue, whose status <> 'PAID' cannot seek
+        @Index(name = "idx_invoices_status_due_date", columnList = "status, due_date"),
+        @Index(name = "idx_invoices_due_date", columnList = "due_date"),
+        // customer lookups, already in keyset (id) order within one customer
+        @Index(name = "idx_invoices_customer_name", columnList = "customer_name, id"),
+        @Index(name = "idx_invoices_customer_id", columnList = "customer_id, id")
+})
 public class InvoiceEntity {
+    // Pooled sequence: one nextval reserves 50 ids, and unlike IDENTITY it lets Hibernate batch inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoices_seq")
+    @SequenceGenerator(name = "invoices_seq", sequenceName = "invoices_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true)
     private String invoiceNumber;
 
     private String customerName;
+    // Plain id, not an association: the name stays on the row for reads and filters, the id keys the customer totals.
+    private Long customerId;
     private LocalDate issueDate;
     private LocalDate dueDate;
 
@@ -24,7 +36,14 @@ public class InvoiceEntity {
 
     private BigDecimal amountPaid = BigDecimal.ZERO;
 
-    @OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    // Derived from items and amountPaid, stored so reads, sums and sorts need not touch invoice_items.
+    // Written with the items on save; payment updates keep balanceDue in step in the same statement.
+    private BigDecimal total = BigDecimal.ZERO;
+    private BigDecimal balanceDue = BigDecimal.ZERO;
+
+    // Lazy so bulk reads choose how to load items: a fetch join or, for paged queries, batched IN (...) selects.
+    @OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<InvoiceItemEntity> items = new ArrayList<>();
 
     public Long getId() { return id; }
@@ -33,6 +52,8 @@ public class InvoiceEntity {
     public void setInvoiceNumber(String invoiceNumber) { this.invoiceNumber = invoiceNumber; }
     public String getCustomerName() { return customerName; }
     public void setCustomerName(String customerName) { this.customerName = customerName; }
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
     public LocalDate getIssueDate() { return issueDate; }
     public void setIssueDate(LocalDate issueDate) { this.issueDate = issueDate; }
     public LocalDate getDueDate() { return dueDate; }
@@ -41,6 +62,10 @@ public class InvoiceEntity {
     public void setStatus(String status) { this.status = status; }
     public BigDecimal getAmountPaid() { return amountPaid; }
     public void setAmountPaid(BigDecimal amountPaid) { this.amountPaid = amountPaid; }
+    public BigDecimal getTotal() { return total; }
+    public void setTotal(BigDecimal total) { this.total = total; }
+    public BigDecimal getBalanceDue() { return balanceDue; }
+    public void setBalanceDue(BigDecimal balanceDue) { this.balanceDue = balanceDue; }
     public List<InvoiceItemEntity> getItems() { return items; }
     public void setItems(List<InvoiceItemEntity> items) { this.items = items; }
 }
@@ -4,10 +4,11 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "invoice_items")
+@Table(name = "invoice_items", indexes = @Index(name = "idx_invoice_items_invoice_id", columnList = "invoice_id"))
 public class InvoiceItemEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "invoice_items_seq")
+    @SequenceGenerator(name = "invoice_items_seq", sequenceName = "invoice_items_seq", allocationSize = 50)
     private Long id;
 
     private String description;
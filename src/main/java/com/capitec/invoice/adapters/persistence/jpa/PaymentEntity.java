@@ -0,0 +1,46 @@
+package com.capitec.invoice.adapters.persistence.jpa;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Entity
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_invoice_id", columnList = "invoice_id"),
+        @Index(name = "idx_payments_batch_id", columnList = "batch_id")
+})
+public class PaymentEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "invoice_id", nullable = false)
+    private Long invoiceId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    // unique, so a retried delivery racing the first one fails instead of being applied twice
+    @Column(unique = true)
+    private String idempotencyKey;
+
+    private Instant receivedAt;
+
+    // set on rows inserted together by a batch so one UPDATE can apply all of them
+    @Column(name = "batch_id", length = 36)
+    private String batchId;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getInvoiceId() { return invoiceId; }
+    public void setInvoiceId(Long invoiceId) { this.invoiceId = invoiceId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    public Instant getReceivedAt() { return receivedAt; }
+    public void setReceivedAt(Instant receivedAt) { this.receivedAt = receivedAt; }
+    public String getBatchId() { return batchId; }
+    public void setBatchId(String batchId) { this.batchId = batchId; }
+}
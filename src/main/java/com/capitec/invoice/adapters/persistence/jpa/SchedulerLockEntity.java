@@ -0,0 +1,21 @@
+package com.capitec.invoice.adapters.persistence.jpa;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "scheduler_locks")
+public class SchedulerLockEntity {
+    @Id
+    private String lockName;
+
+    private Instant lockedUntil;
+    private String lockedBy;
+
+    public String getLockName() { return lockName; }
+    public void setLockName(String lockName) { this.lockName = lockName; }
+    public Instant getLockedUntil() { return lockedUntil; }
+    public void setLockedUntil(Instant lockedUntil) { this.lockedUntil = lockedUntil; }
+    public String getLockedBy() { return lockedBy; }
+    public void setLockedBy(String lockedBy) { this.lockedBy = lockedBy; }
+}
@@ -0,0 +1,33 @@
+package com.capitec.invoice.adapters.persistence.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SpringDataCustomerRepository extends JpaRepository<CustomerEntity, Long> {
+    Optional<CustomerEntity> findByName(String name);
+
+    List<CustomerEntity> findByNameIn(Collection<String> names);
+
+    // Adds (sign 1) or removes (sign -1) the current rows of these invoices from their customers' totals.
+    // Invoice writes remove their rows' contribution before changing them and add it back after, under
+    // the invoice row locks, so the totals move by exactly the change whatever the kind of write.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update customers c set"
+            + " invoice_count = c.invoice_count + :sign * (select count(*) from invoices i"
+            + "   where i.customer_id = c.id and i.id in (:invoiceIds)),"
+            + " total_paid = c.total_paid + :sign * (select coalesce(sum(i.amount_paid), 0) from invoices i"
+            + "   where i.customer_id = c.id and i.id in (:invoiceIds)),"
+            + " outstanding = c.outstanding + :sign * (select coalesce(sum(i.balance_due), 0) from invoices i"
+            + "   where i.customer_id = c.id and i.id in (:invoiceIds)),"
+            + " overdue_count = c.overdue_count + :sign * (select count(*) from invoices i"
+            + "   where i.customer_id = c.id and i.id in (:invoiceIds) and i.status = 'OVERDUE'),"
+            + " overdue_outstanding = c.overdue_outstanding + :sign * (select coalesce(sum(i.balance_due), 0) from invoices i"
+            + "   where i.customer_id = c.id and i.id in (:invoiceIds) and i.status = 'OVERDUE')"
+            + " where c.id in (select i.customer_id from invoices i where i.id in (:invoiceIds))", nativeQuery = true)
+    int adjustTotals(Collection<Long> invoiceIds, int sign);
+}
@@ -0,0 +1,6 @@
+package com.capitec.invoice.adapters.persistence.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SpringDataImportCheckpointRepository extends JpaRepository<ImportCheckpointEntity, String> {
+}
@@ -1,12 +1,110 @@
 package com.capitec.invoice.adapters.persistence.jpa;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface SpringDataInvoiceRepository extends JpaRepository<InvoiceEntity, Long> {
+    @Override
+    @EntityGraph(attributePaths = "items")
+    Optional<InvoiceEntity> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "items")
+    List<InvoiceEntity> findAll();
+
+    @EntityGraph(attributePaths = "items")
+    List<InvoiceEntity> findByIdIn(Collection<Long> ids);
+
+    @Query("select i.id from InvoiceEntity i where i.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("select i.invoiceNumber from InvoiceEntity i where i.invoiceNumber in :invoiceNumbers")
+    List<String> findExistingInvoiceNumbers(Collection<String> invoiceNumbers);
+
+    @EntityGraph(attributePaths = "items")
     @Query("select i from InvoiceEntity i where i.status <> 'PAID' and i.dueDate < :today")
     List<InvoiceEntity> findOverdue(LocalDate today);
+
+    // Atomic increment: concurrent payments queue on the row lock instead of overwriting each other.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update InvoiceEntity i set i.amountPaid = coalesce(i.amountPaid, 0) + :amount,"
+            + " i.balanceDue = i.total - coalesce(i.amountPaid, 0) - :amount where i.id = :id")
+    int addToAmountPaid(Long id, BigDecimal amount);
+
+    // Row locks, in id order, taken before a write so its customer totals are read and adjusted against rows nobody else changes.
+    @Query(value = "select id from invoices where id in (:ids) order by id for update", nativeQuery = true)
+    List<Long> lockForUpdate(Collection<Long> ids);
+
+    // One chunk of the overdue sweep, locked; the id range keeps each chunk's lock footprint bounded.
+    @Query(value = "select id from invoices where id > :fromId and id <= :toId"
+            + " and status in ('UNPAID', 'PARTIALLY_PAID') and due_date < :today order by id for update", nativeQuery = true)
+    List<Long> lockOverdueCandidates(LocalDate today, Long fromId, Long toId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update InvoiceEntity i set i.status = 'OVERDUE' where i.id in :ids")
+    int markOverdue(Collection<Long> ids);
+
+    @Query("select coalesce(max(i.id), 0) from InvoiceEntity i")
+    Long findMaxId();
+
+    // Applies every payment inserted under batchId in one statement, summed per invoice.
+    // Both assignments read the pre-update amount_paid, hence the repeated sum.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update invoices set amount_paid = coalesce(amount_paid, 0)"
+            + " + (select sum(p.amount) from payments p where p.invoice_id = invoices.id and p.batch_id = :batchId),"
+            + " balance_due = total - coalesce(amount_paid, 0)"
+            + " - (select sum(p.amount) from payments p where p.invoice_id = invoices.id and p.batch_id = :batchId)"
+            + " where id in (select p.invoice_id from payments p where p.batch_id = :batchId)", nativeQuery = true)
+    int applyPaymentBatch(String batchId);
+
+    // Compare-and-set on the balance: a status derived from a stale amount is never written.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update InvoiceEntity i set i.status = :status where i.id = :id and i.amountPaid = :expectedAmountPaid")
+    int updateStatusIfAmountPaid(Long id, String status, BigDecimal expectedAmountPaid);
+
+    @Query("select count(i) as totalInvoices,"
+            + " coalesce(sum(case when i.status = 'PAID' then 1 else 0 end), 0) as paidCount,"
+            + " coalesce(sum(case when i.status <> 'PAID' and i.dueDate < :today then 1 else 0 end), 0) as overdueCount,"
+            + " coalesce(sum(i.amountPaid), 0) as totalPaid,"
+            + " coalesce(sum(i.balanceDue), 0) as totalOutstanding"
+            + " from InvoiceEntity i")
+    SummaryRow summarize(LocalDate today);
+
+    // Bucket bounds are dates worked out by the caller, so the same comparisons run on H2 and PostgreSQL.
+    @Query("select i.customerId as customerId, i.customerName as customerName, count(i) as invoiceCount,"
+            + " coalesce(sum(case when i.dueDate > :asOf then i.balanceDue else 0 end), 0) as notDue,"
+            + " coalesce(sum(case when i.dueDate <= :asOf and i.dueDate >= :from30 then i.balanceDue else 0 end), 0) as days0To30,"
+            + " coalesce(sum(case when i.dueDate < :from30 and i.dueDate >= :from60 then i.balanceDue else 0 end), 0) as days31To60,"
+            + " coalesce(sum(case when i.dueDate < :from60 and i.dueDate >= :from90 then i.balanceDue else 0 end), 0) as days61To90,"
+            + " coalesce(sum(case when i.dueDate < :from90 then i.balanceDue else 0 end), 0) as over90"
+            + " from InvoiceEntity i where i.balanceDue > 0 and i.dueDate is not null"
+            + " group by i.customerId, i.customerName order by i.customerName, i.customerId")
+    List<AgingView> aging(LocalDate asOf, LocalDate from30, LocalDate from60, LocalDate from90);
+
+    interface AgingView {
+        Long getCustomerId();
+        String getCustomerName();
+        Number getInvoiceCount();
+        Number getNotDue();
+        Number getDays0To30();
+        Number getDays31To60();
+        Number getDays61To90();
+        Number getOver90();
+    }
+
+    interface SummaryRow {
+        Number getTotalInvoices();
+        Number getPaidCount();
+        Number getOverdueCount();
+        Number getTotalPaid();
+        Number getTotalOutstanding();
+    }
 }
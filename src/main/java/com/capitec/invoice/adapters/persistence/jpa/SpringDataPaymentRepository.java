@@ -0,0 +1,17 @@
+package com.capitec.invoice.adapters.persistence.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SpringDataPaymentRepository extends JpaRepository<PaymentEntity, Long> {
+    Optional<PaymentEntity> findByIdempotencyKey(String idempotencyKey);
+
+    List<PaymentEntity> findByInvoiceIdOrderById(Long invoiceId);
+
+    @Query("select p.idempotencyKey from PaymentEntity p where p.idempotencyKey in :keys")
+    List<String> findExistingIdempotencyKeys(Collection<String> keys);
+}
@@ -0,0 +1,36 @@
+package com.capitec.invoice.adapters.persistence.jpa;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface SpringDataSchedulerLockRepository extends JpaRepository<SchedulerLockEntity, String> {
+    // Conditional update: of several nodes racing for an expired lease, exactly one matches.
+    @Transactional
+    @Modifying
+    @Query("update SchedulerLockEntity l set l.lockedBy = :owner, l.lockedUntil = :until"
+            + " where l.lockName = :name and (l.lockedUntil < :now or l.lockedBy = :owner)")
+    int claim(String name, String owner, Instant now, Instant until);
+
+    // Unlike claim, only an unexpired lease of the same owner is extended: once it lapsed, another node may have swept.
+    @Transactional
+    @Modifying
+    @Query("update SchedulerLockEntity l set l.lockedUntil = :until"
+            + " where l.lockName = :name and l.lockedBy = :owner and l.lockedUntil >= :now")
+    int extend(String name, String owner, Instant now, Instant until);
+
+    @Transactional
+    @Modifying
+    @Query(value = "insert into scheduler_locks (lock_name, locked_by, locked_until)"
+            + " select :name, :owner, :until where not exists (select 1 from scheduler_locks where lock_name = :name)",
+            nativeQuery = true)
+    int insertIfAbsent(String name, String owner, Instant until);
+
+    @Transactional
+    @Modifying
+    @Query("update SchedulerLockEntity l set l.lockedUntil = :now where l.lockName = :name and l.lockedBy = :owner")
+    int release(String name, String owner, Instant now);
+}
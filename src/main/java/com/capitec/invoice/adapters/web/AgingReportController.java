@@ -0,0 +1,93 @@
+package com.capitec.invoice.adapters.web;
+
+import com.capitec.invoice.adapters.web.dto.AgingReportDto;
+import com.capitec.invoice.adapters.web.dto.AgingRowDto;
+import com.capitec.invoice.domain.model.AgingReport;
+import com.capitec.invoice.domain.model.AgingRow;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Receivables aging by customer: open balances in 0-30, 31-60, 61-90 and 90+ days past due on
+ * {@code asOf} (default today), plus what is not yet due. JSON by default; {@code format=csv}
+ * streams one line per customer and a closing {@code TOTAL} line.
+ */
+@RestController
+@RequestMapping("/api/reports/aging")
+public class AgingReportController {
+
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final String CSV_HEADER =
+            "customerId,customerName,invoiceCount,notDue,days0To30,days31To60,days61To90,over90,outstanding\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InvoiceServicePort service;
+
+    public AgingReportController(InvoiceServicePort service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public ResponseEntity<AgingReportDto> aging(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+                                                @RequestParam(defaultValue = "json") String format) {
+        if (!format.equals("json")) return ResponseEntity.badRequest().build();
+        return ResponseEntity.ok(toDto(service.agingReport(asOf)));
+    }
+
+    @GetMapping(params = "format=csv")
+    public ResponseEntity<StreamingResponseBody> agingCsv(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        AgingReport report = service.agingReport(asOf);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            writer.write(CSV_HEADER);
+            for (AgingRow row : report.getRows()) writeCsv(writer, row, LedgerExportController.csv(row.getCustomerId()), row.getCustomerName());
+            writeCsv(writer, report.getTotals(), "", "TOTAL");
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=aging-" + report.getAsOf() + ".csv")
+                .body(body);
+    }
+
+    private static void writeCsv(Writer writer, AgingRow row, String customerId, String customerName) throws IOException {
+        writer.write(String.join(",", customerId, LedgerExportController.csv(customerName), String.valueOf(row.getInvoiceCount()),
+                row.getNotDue().toPlainString(), row.getDays0To30().toPlainString(), row.getDays31To60().toPlainString(),
+                row.getDays61To90().toPlainString(), row.getOver90().toPlainString(), row.getOutstanding().toPlainString()));
+        writer.write('\n');
+    }
+
+    private static AgingReportDto toDto(AgingReport report) {
+        AgingReportDto dto = new AgingReportDto();
+        dto.asOf = report.getAsOf();
+        dto.rows = report.getRows().stream().map(AgingReportController::toDto).toList();
+        dto.totals = toDto(report.getTotals());
+        return dto;
+    }
+
+    private static AgingRowDto toDto(AgingRow row) {
+        AgingRowDto dto = new AgingRowDto();
+        dto.customerId = row.getCustomerId();
+        dto.customerName = row.getCustomerName();
+        dto.invoiceCount = row.getInvoiceCount();
+        dto.notDue = row.getNotDue();
+        dto.days0To30 = row.getDays0To30();
+        dto.days31To60 = row.getDays31To60();
+        dto.days61To90 = row.getDays61To90();
+        dto.over90 = row.getOver90();
+        dto.outstanding = row.getOutstanding();
+        return dto;
+    }
+}
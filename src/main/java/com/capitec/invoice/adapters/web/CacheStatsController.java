@@ -0,0 +1,32 @@
+package com.capitec.invoice.adapters.web;
+
+import com.capitec.invoice.adapters.persistence.InvoiceCache;
+import com.capitec.invoice.adapters.web.dto.CacheStatsDto;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatsController {
+
+    private final InvoiceCache invoiceCache;
+
+    public CacheStatsController(InvoiceCache invoiceCache) {
+        this.invoiceCache = invoiceCache;
+    }
+
+    @GetMapping("/invoices")
+    public CacheStatsDto invoices() {
+        CacheStats stats = invoiceCache.stats();
+        CacheStatsDto dto = new CacheStatsDto();
+        dto.size = invoiceCache.size();
+        dto.hitCount = stats.hitCount();
+        dto.missCount = stats.missCount();
+        dto.hitRate = stats.hitRate();
+        dto.evictionCount = stats.evictionCount();
+        dto.averageLoadPenaltyMillis = stats.averageLoadPenalty() / 1_000_000.0;
+        return dto;
+    }
+}
@@ -0,0 +1,41 @@
+package com.capitec.invoice.adapters.web;
+
+import com.capitec.invoice.adapters.web.dto.CustomerSummaryDto;
+import com.capitec.invoice.domain.model.Customer;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/** Per-customer balances, read from running totals rather than aggregated over the customer's invoices. */
+@RestController
+@RequestMapping("/api/customers")
+public class CustomerController {
+
+    private final InvoiceServicePort service;
+
+    public CustomerController(InvoiceServicePort service) {
+        this.service = service;
+    }
+
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<CustomerSummaryDto> summary(@PathVariable Long id) {
+        return service.getCustomer(id).map(c -> ResponseEntity.ok(toDto(c))).orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping
+    public ResponseEntity<CustomerSummaryDto> byName(@RequestParam String name) {
+        return service.findCustomer(name).map(c -> ResponseEntity.ok(toDto(c))).orElse(ResponseEntity.notFound().build());
+    }
+
+    private static CustomerSummaryDto toDto(Customer c) {
+        CustomerSummaryDto dto = new CustomerSummaryDto();
+        dto.id = c.getId();
+        dto.name = c.getName();
+        dto.invoiceCount = c.getInvoiceCount();
+        dto.totalPaid = c.getTotalPaid();
+        dto.outstanding = c.getOutstanding();
+        dto.overdueCount = c.getOverdueCount();
+        dto.overdueOutstanding = c.getOverdueOutstanding();
+        return dto;
+    }
+}
@@ -0,0 +1,81 @@
+package com.capitec.invoice.adapters.web;
+
+import com.capitec.invoice.adapters.pdf.ExportJob;
+import com.capitec.invoice.adapters.pdf.PdfExportService;
+import com.capitec.invoice.adapters.web.dto.ExportJobDto;
+import com.capitec.invoice.adapters.web.dto.ExportRequest;
+import com.capitec.invoice.domain.model.InvoiceFilter;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/exports")
+public class ExportController {
+
+    private final PdfExportService exportService;
+
+    public ExportController(PdfExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ExportJobDto> start(@RequestBody ExportRequest request) {
+        ExportJob.Format format;
+        if (request.format == null || request.format.equalsIgnoreCase("zip")) {
+            format = ExportJob.Format.ZIP;
+        } else if (request.format.equalsIgnoreCase("pdf")) {
+            format = ExportJob.Format.PDF;
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+        InvoiceFilter filter = new InvoiceFilter(request.status, request.customer, request.dueFrom, request.dueTo);
+        ExportJob job = exportService.start(request.ids, filter, format);
+        return ResponseEntity.accepted().location(URI.create("/api/exports/" + job.getId())).body(toDto(job));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobDto> progress(@PathVariable String id) {
+        return exportService.find(id).map(job -> ResponseEntity.ok(toDto(job))).orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ExportJobDto> cancel(@PathVariable String id) {
+        return exportService.cancel(id).map(job -> ResponseEntity.ok(toDto(job))).orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/file")
+    public ResponseEntity<Resource> download(@PathVariable String id) {
+        ExportJob job = exportService.find(id).orElse(null);
+        if (job == null) return ResponseEntity.notFound().build();
+        if (job.getState() != ExportJob.State.DONE) return ResponseEntity.status(HttpStatus.CONFLICT).build();
+
+        boolean zip = job.getFormat() == ExportJob.Format.ZIP;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=invoices-" + id + (zip ? ".zip" : ".pdf"))
+                .contentType(zip ? MediaType.parseMediaType("application/zip") : MediaType.APPLICATION_PDF)
+                .body(new FileSystemResource(job.getFile()));
+    }
+
+    private ExportJobDto toDto(ExportJob job) {
+        ExportJobDto dto = new ExportJobDto();
+        dto.id = job.getId();
+        dto.state = job.getState().name();
+        dto.format = job.getFormat().name().toLowerCase();
+        dto.queued = job.getQueued();
+        dto.rendered = job.getRendered();
+        dto.failed = job.getFailed();
+        dto.listingComplete = job.isListingComplete();
+        dto.createdAt = job.getCreatedAt();
+        dto.finishedAt = job.getFinishedAt();
+        dto.error = job.getError();
+        dto.downloadUrl = job.getState() == ExportJob.State.DONE ? "/api/exports/" + job.getId() + "/file" : null;
+        return dto;
+    }
+}
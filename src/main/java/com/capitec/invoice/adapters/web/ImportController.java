@@ -0,0 +1,81 @@
+package com.capitec.invoice.adapters.web;
+
+import com.capitec.invoice.adapters.imports.ImportReport;
+import com.capitec.invoice.adapters.imports.InvoiceImporter;
+import com.capitec.invoice.adapters.web.dto.ImportRejectionDto;
+import com.capitec.invoice.adapters.web.dto.ImportReportDto;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/imports")
+public class ImportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final InvoiceImporter importer;
+
+    public ImportController(InvoiceImporter importer) {
+        this.importer = importer;
+    }
+
+    /**
+     * Imports the request body as it arrives. Pass the {@code importId} of an interrupted import,
+     * with the same body, to resume after its last checkpoint.
+     */
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportReportDto> importInvoices(@RequestParam(required = false) String importId,
+                                                          HttpServletRequest request) throws IOException {
+        MediaType type = MediaType.parseMediaType(request.getContentType());
+        Charset charset = type.getCharset() == null ? StandardCharsets.UTF_8 : type.getCharset();
+        ImportReport report;
+        try (Reader body = new InputStreamReader(request.getInputStream(), charset)) {
+            report = NDJSON.includes(type) ? importer.importNdjson(importId, body) : importer.importCsv(importId, body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(error(importId, e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error(importId, e.getMessage()));
+        }
+        return ResponseEntity.ok(toDto(report));
+    }
+
+    private static ImportReportDto error(String importId, String message) {
+        ImportReportDto dto = new ImportReportDto();
+        dto.importId = importId;
+        dto.error = message;
+        return dto;
+    }
+
+    private static ImportReportDto toDto(ImportReport report) {
+        ImportReportDto dto = new ImportReportDto();
+        dto.importId = report.getImportId();
+        dto.complete = report.isComplete();
+        dto.error = report.getError();
+        dto.resumedFromRow = report.getResumedFromRow();
+        dto.lastCommittedRow = report.getLastCommittedRow();
+        dto.rowsRead = report.getRowsRead();
+        dto.rowsSkipped = report.getRowsSkipped();
+        dto.created = report.getCreated();
+        dto.rejected = report.getRejected();
+        dto.elapsedMillis = report.getElapsedMillis();
+        dto.invoicesPerSecond = report.getInvoicesPerSecond();
+        dto.rejections = report.getRejections().stream().map(r -> {
+            ImportRejectionDto d = new ImportRejectionDto();
+            d.row = r.row();
+            d.invoiceNumber = r.invoiceNumber();
+            d.errors = r.errors();
+            return d;
+        }).collect(Collectors.toList());
+        return dto;
+    }
+}
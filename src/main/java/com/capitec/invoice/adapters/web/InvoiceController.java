@@ -1,22 +1,44 @@
 package com.capitec.invoice.adapters.web;
 
+import com.capitec.invoice.adapters.pdf.CachedPdf;
+import com.capitec.invoice.adapters.pdf.InvoicePdfRenderer;
+import com.capitec.invoice.adapters.pdf.PdfCache;
+import com.capitec.invoice.adapters.pdf.PdfRenderLimiter;
 import com.capitec.invoice.adapters.web.dto.*;
+import com.capitec.invoice.domain.model.CreateResult;
 import com.capitec.invoice.domain.model.Invoice;
-import com.capitec.invoice.domain.model.InvoiceItem;
+import com.capitec.invoice.domain.model.InvoiceFilter;
+import com.capitec.invoice.domain.model.InvoicePage;
+import com.capitec.invoice.domain.model.Payment;
+import com.capitec.invoice.domain.model.PaymentResult;
+import com.capitec.invoice.domain.model.PaymentStatus;
+import com.capitec.invoice.domain.model.SearchResult;
 import com.capitec.invoice.domain.ports.InvoiceServicePort;
-import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayOutputStream;
-import java.math.BigDecimal;
 import java.net.URI;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,50 +46,140 @@ import java.util.stream.Collectors;
 public class InvoiceController {
 
     private final InvoiceServicePort service;
-    private final TemplateEngine templateEngine;
+    private final InvoicePdfRenderer pdfRenderer;
+    private final PdfCache pdfCache;
+    private final PdfRenderLimiter pdfRenderLimiter;
+    private final int pdfCacheMaxEntryBytes;
+    private final Validator validator;
+    private final int maxBatchSize;
 
-    public InvoiceController(InvoiceServicePort service, TemplateEngine templateEngine) {
+    public InvoiceController(InvoiceServicePort service, InvoicePdfRenderer pdfRenderer, PdfCache pdfCache,
+                             PdfRenderLimiter pdfRenderLimiter,
+                             @Value("${invoice.pdf.cache.max-entry-bytes:1048576}") int pdfCacheMaxEntryBytes,
+                             Validator validator,
+                             @Value("${invoice.batch.max-size:10000}") int maxBatchSize) {
         this.service = service;
-        this.templateEngine = templateEngine;
+        this.pdfRenderer = pdfRenderer;
+        this.pdfCache = pdfCache;
+        this.pdfRenderLimiter = pdfRenderLimiter;
+        this.pdfCacheMaxEntryBytes = pdfCacheMaxEntryBytes;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
     }
 
+    // read endpoints return domain invoices, written by InvoiceJsonConverter in the InvoiceDto layout
     @GetMapping("/invoices")
-    public List<InvoiceDto> list() {
-        return service.list().stream().map(this::toDto).collect(Collectors.toList());
+    public InvoicePage list(@RequestParam(required = false) PaymentStatus status,
+                            @RequestParam(required = false) String customer,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                            @RequestParam(required = false) Long cursor,
+                            @RequestParam(defaultValue = "50") int limit) {
+        return service.list(new InvoiceFilter(status, customer, dueFrom, dueTo), cursor, limit);
+    }
+
+    @GetMapping("/invoices/search")
+    public ResponseEntity<SearchResultDto> search(@RequestParam String q,
+                                                  @RequestParam(defaultValue = "0") int offset,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) return ResponseEntity.badRequest().build();
+        SearchResult result;
+        try {
+            result = service.search(q, offset, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        SearchResultDto dto = new SearchResultDto();
+        dto.total = result.getTotal();
+        dto.offset = Math.max(0, offset);
+        dto.hits = result.getHits().stream().map(h -> {
+            SearchHitDto hit = new SearchHitDto();
+            hit.id = h.getId();
+            hit.invoiceNumber = h.getInvoiceNumber();
+            hit.customerName = h.getCustomerName();
+            hit.score = h.getScore();
+            return hit;
+        }).collect(Collectors.toList());
+        return ResponseEntity.ok(dto);
     }
 
     @GetMapping("/invoices/{id}")
-    public ResponseEntity<InvoiceDto> get(@PathVariable Long id) {
-        return service.get(id).map(inv -> ResponseEntity.ok(toDto(inv))).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Invoice> get(@PathVariable Long id) {
+        return service.get(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping("/invoices")
     public ResponseEntity<InvoiceDto> create(@Validated @RequestBody InvoiceDto dto) {
-        Invoice saved = service.create(fromDto(dto));
-        return ResponseEntity.created(URI.create("/api/invoices/" + saved.getId())).body(toDto(saved));
+        Invoice saved = service.create(InvoiceDtoMapper.fromDto(dto));
+        return ResponseEntity.created(URI.create("/api/invoices/" + saved.getId())).body(InvoiceDtoMapper.toDto(saved));
+    }
+
+    @PostMapping("/invoices/batch")
+    public ResponseEntity<BatchCreateResultDto> createBatch(@RequestBody List<InvoiceDto> dtos) {
+        if (dtos.size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        // validate per item so one bad invoice is reported instead of failing the whole request
+        BatchItemResultDto[] results = new BatchItemResultDto[dtos.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        List<Invoice> valid = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            InvoiceDto dto = dtos.get(i);
+            Set<ConstraintViolation<InvoiceDto>> violations = validator.validate(dto);
+            if (violations.isEmpty()) {
+                validIndexes.add(i);
+                valid.add(InvoiceDtoMapper.fromDto(dto));
+            } else {
+                results[i] = batchItem(i, dto.invoiceNumber, null, violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage()).sorted().collect(Collectors.toList()));
+            }
+        }
+        List<CreateResult> created = service.createAll(valid);
+        for (int k = 0; k < created.size(); k++) {
+            CreateResult r = created.get(k);
+            int i = validIndexes.get(k);
+            results[i] = r.isCreated()
+                    ? batchItem(i, r.getInvoice().getInvoiceNumber(), r.getInvoice().getId(), null)
+                    : batchItem(i, dtos.get(i).invoiceNumber, null, List.of(r.getError()));
+        }
+
+        BatchCreateResultDto dto = new BatchCreateResultDto();
+        dto.results = Arrays.asList(results);
+        dto.created = (int) dto.results.stream().filter(r -> r.id != null).count();
+        dto.rejected = results.length - dto.created;
+        return ResponseEntity.ok(dto);
     }
 
     @PutMapping("/invoices/{id}")
     public ResponseEntity<InvoiceDto> update(@PathVariable Long id, @Validated @RequestBody InvoiceDto dto) {
-        Invoice saved = service.update(id, fromDto(dto));
-        return ResponseEntity.ok(toDto(saved));
+        Invoice saved = service.update(id, InvoiceDtoMapper.fromDto(dto));
+        return ResponseEntity.ok(InvoiceDtoMapper.toDto(saved));
     }
 
     @DeleteMapping("/invoices/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         service.delete(id);
+        pdfCache.evictInvoice(id);
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/invoices/{id}/pay")
-    public ResponseEntity<InvoiceDto> pay(@PathVariable Long id, @Validated @RequestBody PaymentRequest request) {
-        Invoice saved = service.recordPayment(id, request.amount);
-        return ResponseEntity.ok(toDto(saved));
+    public ResponseEntity<InvoiceDto> pay(@PathVariable Long id, @Validated @RequestBody PaymentRequest request,
+                                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        PaymentResult result = service.recordPayment(new Payment(id, request.amount, idempotencyKey));
+        return switch (result.getStatus()) {
+            case APPLIED -> ResponseEntity.ok(InvoiceDtoMapper.toDto(result.getInvoice()));
+            // a retried delivery gets the current invoice, marked so the caller can tell it was not applied again
+            case DUPLICATE -> result.getInvoice() == null
+                    ? ResponseEntity.notFound().build() // paid, then deleted since
+                    : ResponseEntity.ok().header("Idempotent-Replayed", "true").body(InvoiceDtoMapper.toDto(result.getInvoice()));
+            default -> ResponseEntity.unprocessableEntity().build();
+        };
     }
 
     @GetMapping("/invoices/overdue")
-    public List<InvoiceDto> overdue() {
-        return service.listOverdue().stream().map(this::toDto).collect(Collectors.toList());
+    public List<Invoice> overdue() {
+        return service.listOverdue();
     }
 
     @GetMapping("/summary")
@@ -84,64 +196,75 @@ public class InvoiceController {
     }
 
     @GetMapping(value = "/invoices/{id}/pdf", produces = MediaType.APPLICATION_PDF_VALUE)
-    public ResponseEntity<byte[]> pdf(@PathVariable Long id) throws Exception {
+    public ResponseEntity<StreamingResponseBody> pdf(@PathVariable Long id, WebRequest request) {
         Invoice inv = service.get(id).orElse(null);
         if (inv == null) return ResponseEntity.notFound().build();
-        Context ctx = new Context();
-        ctx.setVariable("invoice", inv);
-        String html = templateEngine.process("invoice-pdf", ctx);
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfRendererBuilder builder = new PdfRendererBuilder();
-        builder.useFastMode();
-        builder.withHtmlContent(html, null);
-        builder.toStream(baos);
-        builder.run();
-        byte[] pdfBytes = baos.toByteArray();
+
+        // the ETag is a content hash, so a revalidation is answered before anything is rendered
+        String version = pdfRenderer.version(inv);
+        String key = PdfCache.key(id, version);
+        CachedPdf cached = pdfCache.get(key).orElse(null);
+        if (request.checkNotModified("\"" + version + "\"", cached == null ? -1 : cached.getRenderedAt())) {
+            return null;
+        }
+
+        long lastModified;
+        StreamingResponseBody body;
+        if (cached != null) {
+            lastModified = cached.getRenderedAt();
+            body = out -> out.write(cached.getBytes());
+        } else {
+            if (!pdfRenderLimiter.tryAcquire()) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+            }
+            lastModified = System.currentTimeMillis();
+            Runnable release = releaseOnce(request);
+            // render into the response; documents small enough to cache are captured on the way through
+            body = out -> {
+                try {
+                    byte[] rendered = pdfRenderer.renderCapturing(inv, out, pdfCacheMaxEntryBytes);
+                    if (rendered != null) pdfCache.put(key, new CachedPdf(rendered, lastModified));
+                } finally {
+                    release.run();
+                }
+            };
+        }
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=invoice-" + inv.getInvoiceNumber() + ".pdf")
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(pdfBytes);
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(version)
+                .lastModified(lastModified)
+                .body(body);
     }
 
-    private InvoiceDto toDto(Invoice inv) {
-        InvoiceDto dto = new InvoiceDto();
-        dto.id = inv.getId();
-        dto.invoiceNumber = inv.getInvoiceNumber();
-        dto.customerName = inv.getCustomerName();
-        dto.issueDate = inv.getIssueDate();
-        dto.dueDate = inv.getDueDate();
-        dto.status = inv.getStatus();
-        dto.amountPaid = inv.getAmountPaid();
-        dto.items = inv.getItems().stream().map(it -> {
-            InvoiceItemDto i = new InvoiceItemDto();
-            i.id = it.getId();
-            i.description = it.getDescription();
-            i.quantity = it.getQuantity();
-            i.unitPrice = it.getUnitPrice();
-            return i;
-        }).collect(Collectors.toList());
-        return dto;
+    /**
+     * Releases the render permit exactly once: when the body finishes, or when the async request
+     * completes without the body having run (task rejected, timed out, client gone first).
+     */
+    private Runnable releaseOnce(WebRequest request) {
+        AtomicBoolean held = new AtomicBoolean(true);
+        Runnable release = () -> {
+            if (held.compareAndSet(true, false)) pdfRenderLimiter.release();
+        };
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(PdfRenderLimiter.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest req, Callable<T> task) {
+                        release.run();
+                    }
+                });
+        return release;
     }
 
-    private Invoice fromDto(InvoiceDto dto) {
-        Invoice inv = new Invoice();
-        inv.setId(dto.id);
-        inv.setInvoiceNumber(dto.invoiceNumber);
-        inv.setCustomerName(dto.customerName);
-        inv.setIssueDate(dto.issueDate);
-        inv.setDueDate(dto.dueDate);
-        inv.setAmountPaid(dto.amountPaid == null ? BigDecimal.ZERO : dto.amountPaid);
-        inv.setItems(dto.items == null ? List.of() : dto.items.stream().map(d -> {
-            InvoiceItem it = new InvoiceItem();
-            it.setId(d.id);
-            it.setDescription(d.description);
-            it.setQuantity(d.quantity);
-            it.setUnitPrice(d.unitPrice);
-            return it;
-        }).collect(Collectors.toList()));
-        inv.setStatus(dto.status);
-        return inv;
+    private BatchItemResultDto batchItem(int index, String invoiceNumber, Long id, List<String> errors) {
+        BatchItemResultDto r = new BatchItemResultDto();
+        r.index = index;
+        r.invoiceNumber = invoiceNumber;
+        r.id = id;
+        r.status = id != null ? "CREATED" : "REJECTED";
+        r.errors = errors;
+        return r;
     }
 }
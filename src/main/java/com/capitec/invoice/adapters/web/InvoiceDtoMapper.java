@@ -0,0 +1,55 @@
+package com.capitec.invoice.adapters.web;
+
+import com.capitec.invoice.adapters.web.dto.InvoiceDto;
+import com.capitec.invoice.adapters.web.dto.InvoiceItemDto;
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceItem;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Maps between the REST representation and the domain model; shared by the controllers and the
+ * import pipeline so every entry point applies the same defaults.
+ */
+public final class InvoiceDtoMapper {
+
+    private InvoiceDtoMapper() {}
+
+    public static InvoiceDto toDto(Invoice inv) {
+        InvoiceDto dto = new InvoiceDto();
+        dto.id = inv.getId();
+        dto.invoiceNumber = inv.getInvoiceNumber();
+        dto.customerName = inv.getCustomerName();
+        dto.customerId = inv.getCustomerId();
+        dto.issueDate = inv.getIssueDate();
+        dto.dueDate = inv.getDueDate();
+        dto.status = inv.getStatus();
+        dto.amountPaid = inv.getAmountPaid();
+        dto.items = inv.getItems().stream().map(it -> {
+            InvoiceItemDto i = new InvoiceItemDto();
+            i.id = it.getId();
+            i.description = it.getDescription();
+            i.quantity = it.getQuantity();
+            i.unitPrice = it.getUnitPrice();
+            return i;
+        }).collect(Collectors.toList());
+        return dto;
+    }
+
+    public static Invoice fromDto(InvoiceDto dto) {
+        Invoice inv = new Invoice();
+        inv.setId(dto.id);
+        inv.setInvoiceNumber(dto.invoiceNumber);
+        inv.setCustomerName(dto.customerName);
+        inv.setIssueDate(dto.issueDate);
+        inv.setDueDate(dto.dueDate);
+        inv.setAmountPaid(dto.amountPaid == null ? BigDecimal.ZERO : dto.amountPaid);
+        inv.setItems(dto.items == null ? List.of() : dto.items.stream()
+                .map(d -> new InvoiceItem(d.id, d.description, d.quantity, d.unitPrice))
+                .collect(Collectors.toList()));
+        inv.setStatus(dto.status);
+        return inv;
+    }
+}
@@ -0,0 +1,150 @@
+package com.capitec.invoice.adapters.web;
+
+import com.capitec.invoice.adapters.web.dto.InvoiceDto;
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceItem;
+import com.capitec.invoice.domain.model.InvoicePage;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Writes invoice responses (one invoice, a page, a list) from the domain model straight to a Jackson
+ * {@link JsonGenerator}, without building an {@link InvoiceDto} and its item DTOs per invoice first.
+ * The JSON is the same as the DTO's. Spring Boot puts converter beans ahead of its defaults, so this
+ * one answers before the Jackson converter; request bodies still bind to DTOs, so write endpoints
+ * keep their bean validation.
+ */
+@Component
+public class InvoiceJsonConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final JsonFactory jsonFactory;
+
+    public InvoiceJsonConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Invoice.class.isAssignableFrom(clazz) || InvoicePage.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(mediaType) && (supports(clazz) || isInvoiceList(type));
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    // canRead is always false, so Spring never reads through this converter; fail as a converter would
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Invoice requests are read as DTOs", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Invoice requests are read as DTOs", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator gen = jsonFactory.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8)) {
+            if (body instanceof InvoicePage page) {
+                gen.writeStartObject();
+                gen.writeFieldName("items");
+                writeAll(gen, page.getItems());
+                writeNumberField(gen, "nextCursor", page.getNextCursor());
+                gen.writeEndObject();
+            } else if (body instanceof Invoice inv) {
+                write(gen, inv);
+            } else {
+                writeAll(gen, (List<?>) body);
+            }
+        }
+    }
+
+    private static void writeAll(JsonGenerator gen, List<?> invoices) throws IOException {
+        gen.writeStartArray();
+        for (Object inv : invoices) write(gen, (Invoice) inv);
+        gen.writeEndArray();
+    }
+
+    /** One invoice in the {@link InvoiceDto} layout; also used by the NDJSON ledger export. */
+    static void write(JsonGenerator gen, Invoice inv) throws IOException {
+        gen.writeStartObject();
+        writeNumberField(gen, "id", inv.getId());
+        gen.writeStringField("invoiceNumber", inv.getInvoiceNumber());
+        gen.writeStringField("customerName", inv.getCustomerName());
+        writeNumberField(gen, "customerId", inv.getCustomerId());
+        writeDateField(gen, "issueDate", inv.getIssueDate());
+        writeDateField(gen, "dueDate", inv.getDueDate());
+        gen.writeStringField("status", inv.getStatus() == null ? null : inv.getStatus().name());
+        writeDecimalField(gen, "amountPaid", inv.getAmountPaid());
+        gen.writeFieldName("items");
+        if (inv.getItems() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray();
+            for (InvoiceItem it : inv.getItems()) {
+                gen.writeStartObject();
+                writeNumberField(gen, "id", it.getId());
+                gen.writeStringField("description", it.getDescription());
+                gen.writeNumberField("quantity", it.getQuantity());
+                writeDecimalField(gen, "unitPrice", it.getUnitPrice());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeNumberField(JsonGenerator gen, String name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) gen.writeNull();
+        else gen.writeNumber(value);
+    }
+
+    private static void writeDecimalField(JsonGenerator gen, String name, BigDecimal value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) gen.writeNull();
+        else gen.writeNumber(value);
+    }
+
+    private static void writeDateField(JsonGenerator gen, String name, LocalDate value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) gen.writeNull();
+        else gen.writeString(value.toString()); // ISO date, as Boot's ObjectMapper writes LocalDate
+    }
+
+    private static boolean isInvoiceList(@Nullable Type type) {
+        if (type == null) return false;
+        ResolvableType resolved = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(resolved.toClass()) && resolved.getGeneric(0).toClass() == Invoice.class;
+    }
+}
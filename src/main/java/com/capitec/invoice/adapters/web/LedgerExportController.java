@@ -0,0 +1,157 @@
+package com.capitec.invoice.adapters.web;
+
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceFilter;
+import com.capitec.invoice.domain.model.InvoiceItem;
+import com.capitec.invoice.domain.model.PaymentStatus;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the whole ledger, or a filtered part of it, straight from a database cursor to the
+ * response. Nothing is collected in memory: each invoice is written as soon as it is mapped.
+ *
+ * <p>CSV uses the import column layout (one row per line item, plus id, status and totals), so
+ * an export can be fed back to {@code POST /api/imports}.
+ */
+@RestController
+@RequestMapping("/api/invoices/export")
+public class LedgerExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final String CSV_HEADER =
+            "id,invoiceNumber,customerName,issueDate,dueDate,status,amountPaid,total,balanceDue,description,quantity,unitPrice\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InvoiceServicePort service;
+    private final ObjectMapper objectMapper;
+
+    public LedgerExportController(InvoiceServicePort service, ObjectMapper objectMapper) {
+        this.service = service;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam(required = false) PaymentStatus status,
+                                                        @RequestParam(required = false) String customer,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean csv;
+        if (format.equalsIgnoreCase("ndjson")) {
+            csv = false;
+        } else if (format.equalsIgnoreCase("csv")) {
+            csv = true;
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+        InvoiceFilter filter = new InvoiceFilter(status, customer, dueFrom, dueTo);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+            if (csv) writer.write(CSV_HEADER);
+            JsonGenerator json = csv ? null : ndjson(writer);
+            try {
+                service.forEachInvoice(filter, inv -> {
+                    try {
+                        if (csv) writeCsv(writer, inv);
+                        else writeJson(json, inv);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // client went away; abandons the cursor
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (json != null) json.flush();
+            writer.flush();
+            if (gzip) ((GZIPOutputStream) target).finish();
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=invoices." + (csv ? "csv" : "ndjson"))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return response.body(body);
+    }
+
+    /** One generator for the whole export; each invoice is a root value ended by a newline. */
+    private JsonGenerator ndjson(Writer writer) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        json.setRootValueSeparator(null);
+        return json;
+    }
+
+    private static void writeJson(JsonGenerator json, Invoice inv) throws IOException {
+        InvoiceJsonConverter.write(json, inv);
+        json.writeRaw('\n');
+    }
+
+    private static void writeCsv(Writer writer, Invoice inv) throws IOException {
+        String invoiceColumns = String.join(",", String.valueOf(inv.getId()), csv(inv.getInvoiceNumber()),
+                csv(inv.getCustomerName()), csv(inv.getIssueDate()), csv(inv.getDueDate()), csv(inv.getStatus()),
+                csv(inv.getAmountPaid()), csv(inv.getTotal()), csv(inv.getBalanceDue()));
+        List<InvoiceItem> items = inv.getItems() == null ? List.of() : inv.getItems();
+        if (items.isEmpty()) {
+            writer.write(invoiceColumns);
+            writer.write(",,,\n");
+            return;
+        }
+        for (InvoiceItem item : items) {
+            writer.write(invoiceColumns);
+            writer.write(',');
+            writer.write(csv(item.getDescription()));
+            writer.write(',');
+            writer.write(String.valueOf(item.getQuantity()));
+            writer.write(',');
+            writer.write(csv(item.getUnitPrice()));
+            writer.write('\n');
+        }
+    }
+
+    // shared with the aging report CSV
+    static String csv(Object value) {
+        if (value == null) return "";
+        String s = value instanceof BigDecimal b ? b.toPlainString() : value.toString();
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) return s;
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!tokens[0].trim().equalsIgnoreCase("gzip")) continue;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.equals("q=0") || param.matches("q=0\\.0*")) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+}
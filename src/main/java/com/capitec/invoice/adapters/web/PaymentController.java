@@ -0,0 +1,77 @@
+package com.capitec.invoice.adapters.web;
+
+import com.capitec.invoice.adapters.web.dto.PaymentBatchItemResultDto;
+import com.capitec.invoice.adapters.web.dto.PaymentBatchResultDto;
+import com.capitec.invoice.adapters.web.dto.PaymentDto;
+import com.capitec.invoice.domain.model.Payment;
+import com.capitec.invoice.domain.model.PaymentResult;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api")
+public class PaymentController {
+
+    private final InvoiceServicePort service;
+    private final int maxBatchSize;
+
+    public PaymentController(InvoiceServicePort service,
+                             @Value("${invoice.payments.batch.max-size:100000}") int maxBatchSize) {
+        this.service = service;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @GetMapping("/invoices/{id}/payments")
+    public List<PaymentDto> list(@PathVariable Long id) {
+        return service.listPayments(id).stream().map(PaymentController::toDto).collect(Collectors.toList());
+    }
+
+    /** Ingests a bank statement: {@code [{"invoiceId": 1, "amount": 10.00, "idempotencyKey": "..."}]}. */
+    @PostMapping("/payments/batch")
+    public ResponseEntity<PaymentBatchResultDto> recordBatch(@RequestBody List<PaymentDto> dtos) {
+        if (dtos.size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        List<Payment> payments = dtos.stream()
+                .map(d -> new Payment(d.invoiceId, d.amount, d.idempotencyKey))
+                .collect(Collectors.toList());
+        List<PaymentResult> results = service.recordPayments(payments);
+
+        PaymentBatchResultDto dto = new PaymentBatchResultDto();
+        dto.results = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            PaymentResult r = results.get(i);
+            PaymentBatchItemResultDto item = new PaymentBatchItemResultDto();
+            item.index = i;
+            item.invoiceId = payments.get(i).getInvoiceId();
+            item.paymentId = r.getPayment() == null ? null : r.getPayment().getId();
+            item.status = r.getStatus().name();
+            item.error = r.getError();
+            dto.results.add(item);
+            switch (r.getStatus()) {
+                case APPLIED -> dto.applied++;
+                case DUPLICATE -> dto.duplicates++;
+                case REJECTED -> dto.rejected++;
+                case FAILED -> dto.failed++;
+            }
+        }
+        return ResponseEntity.ok(dto);
+    }
+
+    private static PaymentDto toDto(Payment p) {
+        PaymentDto dto = new PaymentDto();
+        dto.id = p.getId();
+        dto.invoiceId = p.getInvoiceId();
+        dto.amount = p.getAmount();
+        dto.idempotencyKey = p.getIdempotencyKey();
+        dto.receivedAt = p.getReceivedAt();
+        return dto;
+    }
+}
@@ -0,0 +1,10 @@
+package com.capitec.invoice.adapters.web.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class AgingReportDto {
+    public LocalDate asOf;
+    public List<AgingRowDto> rows;
+    public AgingRowDto totals;
+}
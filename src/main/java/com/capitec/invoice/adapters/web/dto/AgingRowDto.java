@@ -0,0 +1,15 @@
+package com.capitec.invoice.adapters.web.dto;
+
+import java.math.BigDecimal;
+
+public class AgingRowDto {
+    public Long customerId;
+    public String customerName;
+    public long invoiceCount;
+    public BigDecimal notDue;
+    public BigDecimal days0To30;
+    public BigDecimal days31To60;
+    public BigDecimal days61To90;
+    public BigDecimal over90;
+    public BigDecimal outstanding;
+}
@@ -0,0 +1,9 @@
+package com.capitec.invoice.adapters.web.dto;
+
+import java.util.List;
+
+public class BatchCreateResultDto {
+    public int created;
+    public int rejected;
+    public List<BatchItemResultDto> results;
+}
@@ -0,0 +1,12 @@
+package com.capitec.invoice.adapters.web.dto;
+
+import java.util.List;
+
+public class BatchItemResultDto {
+    public int index;
+    public Long id;
+    public String invoiceNumber;
+    /** {@code CREATED} or {@code REJECTED}. */
+    public String status;
+    public List<String> errors;
+}
@@ -0,0 +1,10 @@
+package com.capitec.invoice.adapters.web.dto;
+
+public class CacheStatsDto {
+    public long size;
+    public long hitCount;
+    public long missCount;
+    public double hitRate;
+    public long evictionCount;
+    public double averageLoadPenaltyMillis;
+}
@@ -0,0 +1,13 @@
+package com.capitec.invoice.adapters.web.dto;
+
+import java.math.BigDecimal;
+
+public class CustomerSummaryDto {
+    public Long id;
+    public String name;
+    public long invoiceCount;
+    public BigDecimal totalPaid;
+    public BigDecimal outstanding;
+    public long overdueCount;
+    public BigDecimal overdueOutstanding;
+}
@@ -0,0 +1,17 @@
+package com.capitec.invoice.adapters.web.dto;
+
+import java.time.Instant;
+
+public class ExportJobDto {
+    public String id;
+    public String state;
+    public String format;
+    public long queued;
+    public long rendered;
+    public long failed;
+    public boolean listingComplete;
+    public Instant createdAt;
+    public Instant finishedAt;
+    public String error;
+    public String downloadUrl;
+}
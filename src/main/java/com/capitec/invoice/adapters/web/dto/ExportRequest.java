@@ -0,0 +1,17 @@
+package com.capitec.invoice.adapters.web.dto;
+
+import com.capitec.invoice.domain.model.PaymentStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class ExportRequest {
+    /** Explicit invoice ids; when empty the filter below selects the invoices. */
+    public List<Long> ids;
+    public PaymentStatus status;
+    public String customer;
+    public LocalDate dueFrom;
+    public LocalDate dueTo;
+    /** {@code zip} (one PDF per invoice, default) or {@code pdf} (one merged document). */
+    public String format;
+}
@@ -0,0 +1,9 @@
+package com.capitec.invoice.adapters.web.dto;
+
+import java.util.List;
+
+public class ImportRejectionDto {
+    public long row;
+    public String invoiceNumber;
+    public List<String> errors;
+}
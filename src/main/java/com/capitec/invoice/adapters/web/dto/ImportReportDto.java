@@ -0,0 +1,19 @@
+package com.capitec.invoice.adapters.web.dto;
+
+import java.util.List;
+
+public class ImportReportDto {
+    public String importId;
+    public boolean complete;
+    public String error;
+    public long resumedFromRow;
+    public long lastCommittedRow;
+    public long rowsRead;
+    public long rowsSkipped;
+    public long created;
+    public long rejected;
+    public long elapsedMillis;
+    public double invoicesPerSecond;
+    /** First rejections only; {@link #rejected} has the full count. */
+    public List<ImportRejectionDto> rejections;
+}
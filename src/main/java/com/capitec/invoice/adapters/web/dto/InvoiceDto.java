@@ -14,6 +14,8 @@ public class InvoiceDto {
     public String invoiceNumber;
     @NotBlank
     public String customerName;
+    // read-only: assigned from customerName when the invoice is saved
+    public Long customerId;
     @NotNull
     public LocalDate issueDate;
     @NotNull
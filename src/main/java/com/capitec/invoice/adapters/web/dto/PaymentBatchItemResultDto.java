@@ -0,0 +1,10 @@
+package com.capitec.invoice.adapters.web.dto;
+
+public class PaymentBatchItemResultDto {
+    public int index;
+    public Long invoiceId;
+    public Long paymentId;
+    /** {@code APPLIED}, {@code DUPLICATE}, {@code REJECTED} or {@code FAILED} (safe to resubmit). */
+    public String status;
+    public String error;
+}
@@ -0,0 +1,11 @@
+package com.capitec.invoice.adapters.web.dto;
+
+import java.util.List;
+
+public class PaymentBatchResultDto {
+    public int applied;
+    public int duplicates;
+    public int rejected;
+    public int failed;
+    public List<PaymentBatchItemResultDto> results;
+}
@@ -0,0 +1,12 @@
+package com.capitec.invoice.adapters.web.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class PaymentDto {
+    public Long id;
+    public Long invoiceId;
+    public BigDecimal amount;
+    public String idempotencyKey;
+    public Instant receivedAt;
+}
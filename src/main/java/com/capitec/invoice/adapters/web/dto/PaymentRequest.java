@@ -1,9 +1,11 @@
 package com.capitec.invoice.adapters.web.dto;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
 
 public class PaymentRequest {
     @NotNull
+    @Positive
     public BigDecimal amount;
 }
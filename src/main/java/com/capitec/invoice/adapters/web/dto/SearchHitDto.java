@@ -0,0 +1,8 @@
+package com.capitec.invoice.adapters.web.dto;
+
+public class SearchHitDto {
+    public Long id;
+    public String invoiceNumber;
+    public String customerName;
+    public double score;
+}
@@ -0,0 +1,9 @@
+package com.capitec.invoice.adapters.web.dto;
+
+import java.util.List;
+
+public class SearchResultDto {
+    public List<SearchHitDto> hits;
+    public long total;
+    public int offset;
+}
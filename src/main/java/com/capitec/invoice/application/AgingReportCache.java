@@ -0,0 +1,60 @@
+package com.capitec.invoice.application;
+
+import com.capitec.invoice.domain.model.AgingReport;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Aging reports by as-of date. The service drops them all after every write that changes a
+ * balance or a due date; entries also expire, which bounds how stale a report can be when the
+ * write happened on another instance.
+ *
+ * <p>A report computed while a write was committing may predate it, so it is only kept if no
+ * invalidation happened between the start of the query and the insert.
+ */
+@Component
+public class AgingReportCache implements MeterBinder {
+
+    private final Cache<LocalDate, AgingReport> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public AgingReportCache(@Value("${invoice.aging.cache.maximum-size:32}") long maximumSize,
+                            @Value("${invoice.aging.cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public AgingReport get(LocalDate asOf, Function<LocalDate, AgingReport> loader) {
+        AgingReport cached = cache.getIfPresent(asOf);
+        if (cached != null) return cached;
+        long seen = generation.get();
+        AgingReport report = loader.apply(asOf);
+        cache.put(asOf, report);
+        // an invalidation that ran before the put would not have seen it
+        if (generation.get() != seen) cache.invalidate(asOf);
+        return report;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "aging");
+    }
+}
@@ -0,0 +1,388 @@
+package com.capitec.invoice.application;
+
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceFilter;
+import com.capitec.invoice.domain.model.InvoiceItem;
+import com.capitec.invoice.domain.model.SearchHit;
+import com.capitec.invoice.domain.model.SearchResult;
+import com.capitec.invoice.domain.ports.InvoiceRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over invoice number, customer name and line-item descriptions. The
+ * service updates it on every create, update and delete; it is rebuilt from the repository once
+ * the application is ready, and writes that land while it rebuilds win over the rows being read.
+ *
+ * <p>Text is lower-cased and split wherever a letter meets a digit or anything that is neither,
+ * so "INV-1001" and "inv1001" both become {@code inv 1001}. Every query term must match a term of
+ * the invoice exactly, as a prefix, or, for words of four letters or more, within one edit (two
+ * from eight letters) of a word with the same first letter. Scores weigh how the term matched, the
+ * field it matched in (number, then customer, then items) and how rare the term is.
+ *
+ * <p>Invoices get increasing ordinals, so postings are append-only arrays. An update or delete
+ * tombstones the old ordinal; the index is compacted once tombstones outnumber live invoices.
+ */
+@Component
+public class InvoiceSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceSearchIndex.class);
+
+    static final int FIELD_NUMBER = 1;
+    static final int FIELD_CUSTOMER = 2;
+    static final int FIELD_ITEM = 4;
+
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.6;
+    private static final double FUZZY = 0.4;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    // a short prefix of a number can match millions of terms; expand it like a search engine would
+    private static final int MAX_EXPANSIONS = 10_000;
+
+    private final InvoiceRepositoryPort repository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private Doc[] docs = new Doc[1024];
+    private int nextOrdinal;
+    private int live;
+    private Set<Long> touchedDuringRebuild;
+
+    public InvoiceSearchIndex(InvoiceRepositoryPort repository) {
+        this.repository = repository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            clear();
+            touchedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            repository.forEach(new InvoiceFilter(), inv -> {
+                Doc doc = Doc.of(inv);
+                lock.writeLock().lock();
+                try {
+                    if (!touchedDuringRebuild.contains(doc.id)) put(doc);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+        } finally {
+            lock.writeLock().lock();
+            try {
+                touchedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Search index built: {} invoices, {} terms in {} ms", size(), termCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** Adds or replaces a saved invoice. */
+    public void index(Invoice invoice) {
+        if (invoice != null) indexAll(List.of(invoice));
+    }
+
+    public void indexAll(List<Invoice> invoices) {
+        List<Doc> batch = new ArrayList<>(invoices.size());
+        for (Invoice inv : invoices) {
+            if (inv != null && inv.getId() != null) batch.add(Doc.of(inv));
+        }
+        lock.writeLock().lock();
+        try {
+            for (Doc doc : batch) {
+                if (touchedDuringRebuild != null) touchedDuringRebuild.add(doc.id);
+                put(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (touchedDuringRebuild != null) touchedDuringRebuild.add(id);
+            tombstone(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Invoices matching every term of {@code query}, best first, skipping {@code offset}. */
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> queryTerms = queryTerms(query);
+        if (queryTerms.isEmpty() || limit <= 0) return new SearchResult(List.of(), 0);
+        lock.readLock().lock();
+        try {
+            // only invoices matching the first term can match them all, so that term's postings bound the state
+            Map<Integer, Match> matches = new HashMap<>();
+            for (int q = 0; q < queryTerms.size(); q++) {
+                for (Map.Entry<Postings, Double> candidate : candidates(queryTerms.get(q)).entrySet()) {
+                    Postings p = candidate.getKey();
+                    double weight = candidate.getValue() * Math.log(1 + (double) live / p.live);
+                    for (int i = 0; i < p.size; i++) {
+                        int ord = p.ords[i];
+                        if (docs[ord] == null) continue;
+                        Match m = q == 0 ? matches.computeIfAbsent(ord, Match::new) : matches.get(ord);
+                        if (m == null) continue;
+                        m.best = Math.max(m.best, weight * fieldWeight(p.fields[i]));
+                    }
+                }
+                matches.values().removeIf(m -> m.best == 0);
+                if (matches.isEmpty()) return new SearchResult(List.of(), 0);
+                for (Match m : matches.values()) {
+                    m.score += m.best;
+                    m.best = 0;
+                }
+            }
+            return new SearchResult(top(matches.values(), offset, limit), matches.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Postings of every dictionary term {@code term} matches, with the weight of that kind of match. */
+    private Map<Postings, Double> candidates(String term) {
+        Map<Postings, Double> found = new LinkedHashMap<>();
+        Postings exact = terms.get(term);
+        if (exact != null) found.put(exact, EXACT);
+        int expanded = 0;
+        for (Postings p : terms.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+            if (++expanded > MAX_EXPANSIONS) break;
+            found.put(p, PREFIX);
+        }
+        if (term.length() >= MIN_FUZZY_LENGTH && Character.isLetter(term.charAt(0))) {
+            int maxEdits = term.length() >= 8 ? 2 : 1;
+            String first = term.substring(0, 1);
+            NavigableMap<String, Postings> sameFirst = terms.subMap(first, true, first + Character.MAX_VALUE, false);
+            for (Map.Entry<String, Postings> e : sameFirst.entrySet()) {
+                String candidate = e.getKey();
+                if (Math.abs(candidate.length() - term.length()) > maxEdits || found.containsKey(e.getValue())) continue;
+                int edits = editDistance(term, candidate, maxEdits);
+                if (edits <= maxEdits) found.put(e.getValue(), FUZZY / edits);
+            }
+        }
+        return found;
+    }
+
+    private List<SearchHit> top(Collection<Match> matches, int offset, int limit) {
+        int from = Math.max(0, offset);
+        if (from >= matches.size()) return List.of();
+        int k = (int) Math.min((long) from + limit, matches.size());
+        Comparator<Match> better = Comparator.<Match>comparingDouble(m -> m.score)
+                .thenComparing(m -> docs[m.ord].id, Comparator.reverseOrder());
+        PriorityQueue<Match> heap = new PriorityQueue<>(k + 1, better);
+        for (Match m : matches) {
+            heap.add(m);
+            if (heap.size() > k) heap.poll();
+        }
+        Match[] ranked = heap.toArray(new Match[0]);
+        Arrays.sort(ranked, better.reversed());
+        List<SearchHit> hits = new ArrayList<>();
+        for (int i = from; i < ranked.length; i++) {
+            Doc doc = docs[ranked[i].ord];
+            hits.add(new SearchHit(doc.id, doc.invoiceNumber, doc.customerName, ranked[i].score));
+        }
+        return hits;
+    }
+
+    private void put(Doc doc) {
+        tombstone(doc.id);
+        append(doc);
+        if (nextOrdinal - live > Math.max(live, 1024)) compact();
+    }
+
+    private void append(Doc doc) {
+        int ord = nextOrdinal++;
+        if (ord == docs.length) docs = Arrays.copyOf(docs, docs.length * 2);
+        docs[ord] = doc;
+        ordinals.put(doc.id, ord);
+        live++;
+        for (int i = 0; i < doc.terms.length; i++) {
+            terms.computeIfAbsent(doc.terms[i], t -> new Postings()).add(ord, doc.fields[i]);
+        }
+    }
+
+    private void tombstone(Long id) {
+        Integer ord = ordinals.remove(id);
+        if (ord == null) return;
+        Doc doc = docs[ord];
+        docs[ord] = null;
+        live--;
+        for (String term : doc.terms) {
+            Postings p = terms.get(term);
+            if (--p.live == 0) terms.remove(term);
+        }
+    }
+
+    private void compact() {
+        Doc[] old = docs;
+        int oldCount = nextOrdinal;
+        clear();
+        for (int i = 0; i < oldCount; i++) {
+            if (old[i] != null) append(old[i]);
+        }
+    }
+
+    private void clear() {
+        terms.clear();
+        ordinals.clear();
+        docs = new Doc[1024];
+        nextOrdinal = 0;
+        live = 0;
+    }
+
+    private static double fieldWeight(byte fields) {
+        if ((fields & FIELD_NUMBER) != 0) return 3;
+        if ((fields & FIELD_CUSTOMER) != 0) return 2;
+        return 1;
+    }
+
+    /** Levenshtein distance, or {@code max + 1} as soon as it is known to exceed {@code max}. */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) return max + 1;
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > max) return max + 1;
+            int[] swap = prev;
+            prev = cur;
+            cur = swap;
+        }
+        return prev[b.length()];
+    }
+
+    /** Splits {@code text} into lower-case runs of letters or of digits. */
+    static void tokenize(String text, Consumer<String> sink) {
+        if (text == null) return;
+        String s = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= s.length(); i++) {
+            char c = i < s.length() ? s.charAt(i) : ' ';
+            boolean continues = start >= 0 && Character.isLetterOrDigit(c)
+                    && Character.isDigit(c) == Character.isDigit(s.charAt(start));
+            if (continues) continue;
+            if (start >= 0) sink.accept(s.substring(start, i));
+            start = Character.isLetterOrDigit(c) ? i : -1;
+        }
+    }
+
+    private static List<String> queryTerms(String query) {
+        Set<String> unique = new LinkedHashSet<>();
+        tokenize(query, unique::add);
+        return new ArrayList<>(unique);
+    }
+
+    private static final class Postings {
+        int[] ords = new int[4];
+        byte[] fields = new byte[4];
+        int size;
+        int live;
+
+        void add(int ord, byte field) {
+            if (size == ords.length) {
+                ords = Arrays.copyOf(ords, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            ords[size] = ord;
+            fields[size] = field;
+            size++;
+            live++;
+        }
+    }
+
+    /** Score of one candidate invoice: summed over the query terms matched so far, and the best match of the current term. */
+    private static final class Match {
+        final int ord;
+        double score;
+        double best;
+
+        Match(int ord) {
+            this.ord = ord;
+        }
+    }
+
+    /** What the index keeps per invoice: its terms with the fields they occur in, and what a hit shows. */
+    private static final class Doc {
+        final Long id;
+        final String invoiceNumber;
+        final String customerName;
+        final String[] terms;
+        final byte[] fields;
+
+        private Doc(Long id, String invoiceNumber, String customerName, Map<String, Integer> fieldsByTerm) {
+            this.id = id;
+            this.invoiceNumber = invoiceNumber;
+            this.customerName = customerName;
+            this.terms = fieldsByTerm.keySet().toArray(new String[0]);
+            this.fields = new byte[terms.length];
+            for (int i = 0; i < terms.length; i++) fields[i] = fieldsByTerm.get(terms[i]).byteValue();
+        }
+
+        static Doc of(Invoice inv) {
+            Map<String, Integer> fieldsByTerm = new LinkedHashMap<>();
+            tokenize(inv.getInvoiceNumber(), t -> fieldsByTerm.merge(t, FIELD_NUMBER, (a, b) -> a | b));
+            tokenize(inv.getCustomerName(), t -> fieldsByTerm.merge(t, FIELD_CUSTOMER, (a, b) -> a | b));
+            if (inv.getItems() != null) {
+                for (InvoiceItem item : inv.getItems()) {
+                    tokenize(item.getDescription(), t -> fieldsByTerm.merge(t, FIELD_ITEM, (a, b) -> a | b));
+                }
+            }
+            return new Doc(inv.getId(), inv.getInvoiceNumber(), inv.getCustomerName(), fieldsByTerm);
+        }
+    }
+}
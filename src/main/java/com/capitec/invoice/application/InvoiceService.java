@@ -1,22 +1,62 @@
 package com.capitec.invoice.application;
 
+import com.capitec.invoice.domain.model.AgingReport;
+import com.capitec.invoice.domain.model.CreateResult;
+import com.capitec.invoice.domain.model.Customer;
 import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceFilter;
+import com.capitec.invoice.domain.model.InvoicePage;
+import com.capitec.invoice.domain.model.Payment;
+import com.capitec.invoice.domain.model.PaymentResult;
 import com.capitec.invoice.domain.model.PaymentStatus;
+import com.capitec.invoice.domain.model.SearchResult;
+import com.capitec.invoice.domain.ports.CustomerRepositoryPort;
 import com.capitec.invoice.domain.ports.InvoiceRepositoryPort;
 import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @org.springframework.stereotype.Service
 public class InvoiceService implements InvoiceServicePort {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int BATCH_CHUNK_SIZE = 500;
+    static final int INVOICE_LOCK_STRIPES = 1024;
+    static final int PAYMENT_CHUNK_SIZE = 1000;
+    static final int DEFAULT_SEARCH_SIZE = 20;
+    static final int MAX_SEARCH_SIZE = 100;
+    // ranking keeps offset + limit hits in memory; deeper pages are better served by a narrower query
+    static final int MAX_SEARCH_OFFSET = 10_000;
+
     private final InvoiceRepositoryPort repository;
+    private final CustomerRepositoryPort customers;
+    private final SummaryProjection summaryProjection;
+    private final InvoiceSearchIndex searchIndex;
+    private final AgingReportCache agingReports;
+    private final StripedLocks invoiceLocks = new StripedLocks(INVOICE_LOCK_STRIPES);
 
-    public InvoiceService(InvoiceRepositoryPort repository) {
+    public InvoiceService(InvoiceRepositoryPort repository, CustomerRepositoryPort customers,
+                          SummaryProjection summaryProjection, InvoiceSearchIndex searchIndex, AgingReportCache agingReports) {
         this.repository = repository;
+        this.customers = customers;
+        this.summaryProjection = summaryProjection;
+        this.searchIndex = searchIndex;
+        this.agingReports = agingReports;
     }
 
     @Override
@@ -25,7 +65,66 @@ public class InvoiceService implements InvoiceServicePort {
             invoice.setStatus(PaymentStatus.UNPAID);
         }
         autoUpdateStatus(invoice);
-        return repository.save(invoice);
+        assignCustomers(List.of(invoice));
+        Invoice saved = tracked(null, () -> repository.save(invoice));
+        searchIndex.index(saved);
+        return saved;
+    }
+
+    @Override
+    public List<CreateResult> createAll(List<Invoice> invoices) {
+        CreateResult[] results = new CreateResult[invoices.size()];
+        Set<String> seen = new HashSet<>();
+        for (int from = 0; from < invoices.size(); from += BATCH_CHUNK_SIZE) {
+            int to = Math.min(from + BATCH_CHUNK_SIZE, invoices.size());
+            createChunk(invoices, from, to, seen, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    /** One transaction per chunk, so a failing chunk only rejects its own invoices. */
+    private void createChunk(List<Invoice> invoices, int from, int to, Set<String> seen, CreateResult[] results) {
+        List<String> numbers = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (invoices.get(i).getInvoiceNumber() != null) numbers.add(invoices.get(i).getInvoiceNumber());
+        }
+        Set<String> existing = repository.findExistingInvoiceNumbers(numbers);
+
+        List<Integer> accepted = new ArrayList<>();
+        List<Invoice> batch = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Invoice inv = invoices.get(i);
+            String number = inv.getInvoiceNumber();
+            if (number != null && (existing.contains(number) || !seen.add(number))) {
+                results[i] = CreateResult.rejected("Duplicate invoiceNumber " + number);
+                continue;
+            }
+            inv.setId(null);
+            if (inv.getStatus() == null) {
+                inv.setStatus(PaymentStatus.UNPAID);
+            }
+            autoUpdateStatus(inv);
+            accepted.add(i);
+            batch.add(inv);
+        }
+        if (batch.isEmpty()) return;
+
+        SummaryProjection.Write write = summaryProjection.beginBulkWrite();
+        List<Invoice> saved;
+        try {
+            assignCustomers(batch);
+            saved = repository.saveAll(batch);
+        } catch (RuntimeException e) {
+            summaryProjection.abortWrite(write);
+            accepted.forEach(i -> results[i] = CreateResult.failed("Chunk failed: " + e.getMessage()));
+            return;
+        }
+        agingReports.invalidateAll();
+        summaryProjection.endBulkWrite(write, List.of(), saved);
+        for (int k = 0; k < saved.size(); k++) {
+            results[accepted.get(k)] = CreateResult.created(saved.get(k));
+        }
+        searchIndex.indexAll(saved);
     }
 
     @Override
@@ -34,29 +133,229 @@ public class InvoiceService implements InvoiceServicePort {
     }
 
     @Override
-    public List<Invoice> list() {
-        return repository.findAll();
+    public InvoicePage list(InvoiceFilter filter, Long cursor, int limit) {
+        int size = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        return repository.findPage(filter == null ? new InvoiceFilter() : filter, cursor, size);
+    }
+
+    @Override
+    public SearchResult search(String query, int offset, int limit) {
+        if (offset > MAX_SEARCH_OFFSET) {
+            throw new IllegalArgumentException("offset must not exceed " + MAX_SEARCH_OFFSET);
+        }
+        int size = limit <= 0 ? DEFAULT_SEARCH_SIZE : Math.min(limit, MAX_SEARCH_SIZE);
+        return searchIndex.search(query == null ? "" : query, Math.max(0, offset), size);
+    }
+
+    @Override
+    public Optional<Customer> getCustomer(Long id) {
+        return customers.findById(id);
+    }
+
+    @Override
+    public Optional<Customer> findCustomer(String name) {
+        return customers.findByName(name);
+    }
+
+    @Override
+    public void forEachInvoice(InvoiceFilter filter, Consumer<Invoice> action) {
+        repository.forEach(filter == null ? new InvoiceFilter() : filter, action);
     }
 
     @Override
     public Invoice update(Long id, Invoice invoice) {
         invoice.setId(id);
         autoUpdateStatus(invoice);
-        return repository.save(invoice);
+        assignCustomers(List.of(invoice));
+        Invoice saved;
+        // same stripe as payments: the captured prior state must still be current when the write lands
+        Lock lock = invoiceLocks.get(id);
+        lock.lock();
+        try {
+            Invoice before = repository.findById(id).orElse(null);
+            saved = tracked(before, () -> repository.save(invoice));
+        } finally {
+            lock.unlock();
+        }
+        searchIndex.index(saved);
+        return saved;
     }
 
     @Override
     public void delete(Long id) {
-        repository.deleteById(id);
+        Lock lock = invoiceLocks.get(id);
+        lock.lock();
+        try {
+            Invoice before = repository.findById(id).orElse(null);
+            tracked(before, () -> {
+                repository.deleteById(id);
+                return null;
+            });
+        } finally {
+            lock.unlock();
+        }
+        searchIndex.remove(id);
     }
 
     @Override
     public Invoice recordPayment(Long id, BigDecimal amount) {
-        Invoice inv = repository.findById(id).orElseThrow();
-        BigDecimal paid = inv.getAmountPaid() == null ? BigDecimal.ZERO : inv.getAmountPaid();
-        inv.setAmountPaid(paid.add(amount == null ? BigDecimal.ZERO : amount));
-        autoUpdateStatus(inv);
-        return repository.save(inv);
+        return recordPayment(new Payment(id, amount, null)).getInvoice();
+    }
+
+    @Override
+    public PaymentResult recordPayment(Payment payment) {
+        if (payment.getAmount() == null || payment.getAmount().signum() <= 0) {
+            return PaymentResult.rejected(payment, "amount must be greater than 0");
+        }
+        Optional<PaymentResult> replayed = replay(payment);
+        if (replayed.isPresent()) return replayed.get();
+        payment.setReceivedAt(Instant.now());
+
+        // The increment is atomic in the database, so no payment is lost even across instances. The
+        // stripe only orders payments to the same invoice here, keeping the summary deltas exact.
+        Long id = payment.getInvoiceId();
+        Lock lock = invoiceLocks.get(id);
+        lock.lock();
+        try {
+            Invoice before = repository.findById(id).orElseThrow();
+            Invoice after = tracked(before, () -> applyStatus(repository.addPayment(payment).orElseThrow()));
+            return PaymentResult.applied(payment, after);
+        } catch (DataIntegrityViolationException e) {
+            // the same idempotency key was recorded concurrently
+            return replay(payment).orElseThrow(() -> e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<PaymentResult> recordPayments(List<Payment> payments) {
+        PaymentResult[] results = new PaymentResult[payments.size()];
+        Set<String> seenKeys = new HashSet<>();
+        for (int from = 0; from < payments.size(); from += PAYMENT_CHUNK_SIZE) {
+            recordPaymentChunk(payments, from, Math.min(from + PAYMENT_CHUNK_SIZE, payments.size()), results, seenKeys);
+        }
+        return Arrays.asList(results);
+    }
+
+    private void recordPaymentChunk(List<Payment> payments, int from, int to, PaymentResult[] results, Set<String> seenKeys) {
+        Set<String> keys = new HashSet<>();
+        Set<Long> ids = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            Payment p = payments.get(i);
+            if (p.getIdempotencyKey() != null) keys.add(p.getIdempotencyKey());
+            if (p.getInvoiceId() != null) ids.add(p.getInvoiceId());
+        }
+        Set<String> existingKeys = repository.findExistingIdempotencyKeys(keys);
+        Set<Long> existingIds = repository.findExistingIds(ids);
+
+        Instant now = Instant.now();
+        List<Integer> accepted = new ArrayList<>();
+        List<Payment> batch = new ArrayList<>();
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        for (int i = from; i < to; i++) {
+            Payment p = payments.get(i);
+            String key = p.getIdempotencyKey();
+            if (p.getInvoiceId() == null || !existingIds.contains(p.getInvoiceId())) {
+                results[i] = PaymentResult.rejected(p, "Unknown invoice " + p.getInvoiceId());
+            } else if (p.getAmount() == null || p.getAmount().signum() <= 0) {
+                results[i] = PaymentResult.rejected(p, "amount must be greater than 0");
+            } else if (key != null && (existingKeys.contains(key) || !seenKeys.add(key))) {
+                results[i] = PaymentResult.duplicate(p, null);
+            } else {
+                p.setReceivedAt(now);
+                accepted.add(i);
+                batch.add(p);
+                totals.merge(p.getInvoiceId(), p.getAmount(), BigDecimal::add);
+            }
+        }
+        if (batch.isEmpty()) return;
+
+        List<Lock> locks = invoiceLocks.getAll(totals.keySet());
+        locks.forEach(Lock::lock);
+        try {
+            SummaryProjection.Write write = summaryProjection.beginBulkWrite();
+            List<Invoice> incremented;
+            try {
+                incremented = repository.applyPayments(batch);
+            } catch (RuntimeException e) {
+                summaryProjection.abortWrite(write);
+                accepted.forEach(i -> results[i] = PaymentResult.failed(payments.get(i), "Chunk failed: " + e.getMessage()));
+                return;
+            }
+            agingReports.invalidateAll();
+            // the increment leaves status alone, so each prior state is the new one less this chunk's payments
+            List<Invoice> before = new ArrayList<>(incremented.size());
+            incremented.forEach(inv -> before.add(withAmountPaid(inv, inv.getAmountPaid().subtract(totals.get(inv.getId())))));
+            List<Invoice> after;
+            try {
+                after = applyStatuses(incremented);
+            } catch (RuntimeException e) {
+                summaryProjection.abortWrite(write); // amounts are committed; the next reconcile picks them up
+                throw e;
+            }
+            summaryProjection.endBulkWrite(write, before, after);
+
+            Map<Long, Invoice> byId = new HashMap<>();
+            after.forEach(inv -> byId.put(inv.getId(), inv));
+            accepted.forEach(i -> results[i] = PaymentResult.applied(payments.get(i), byId.get(payments.get(i).getInvoiceId())));
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
+    @Override
+    public List<Payment> listPayments(Long invoiceId) {
+        return repository.findPayments(invoiceId);
+    }
+
+    private Optional<PaymentResult> replay(Payment payment) {
+        String key = payment.getIdempotencyKey();
+        if (key == null) return Optional.empty();
+        return repository.findPaymentByIdempotencyKey(key).map(first -> first.getInvoiceId().equals(payment.getInvoiceId())
+                ? PaymentResult.duplicate(first, repository.findById(first.getInvoiceId()).orElse(null))
+                : PaymentResult.rejected(payment, "Idempotency key " + key + " was already used for invoice " + first.getInvoiceId()));
+    }
+
+    /** Derives the status of an invoice whose amount was just incremented and stores it if it changed. */
+    private Invoice applyStatus(Invoice after) {
+        PaymentStatus current = after.getStatus();
+        autoUpdateStatus(after);
+        if (after.getStatus() != current && !repository.updateStatus(after.getId(), after.getStatus(), after.getAmountPaid())) {
+            // another instance paid in between and sets the status from its newer balance
+            return repository.findById(after.getId()).orElseThrow();
+        }
+        return after;
+    }
+
+    private List<Invoice> applyStatuses(List<Invoice> incremented) {
+        List<Invoice> changed = new ArrayList<>();
+        for (Invoice inv : incremented) {
+            PaymentStatus current = inv.getStatus();
+            autoUpdateStatus(inv);
+            if (inv.getStatus() != current) changed.add(inv);
+        }
+        Set<Long> stale = changed.isEmpty() ? Set.of() : repository.updateStatuses(changed);
+        if (stale.isEmpty()) return incremented;
+        List<Invoice> after = new ArrayList<>(incremented.size());
+        for (Invoice inv : incremented) {
+            after.add(stale.contains(inv.getId()) ? repository.findById(inv.getId()).orElse(inv) : inv);
+        }
+        return after;
+    }
+
+    private static Invoice withAmountPaid(Invoice inv, BigDecimal amountPaid) {
+        Invoice copy = new Invoice(inv.getId());
+        copy.setInvoiceNumber(inv.getInvoiceNumber());
+        copy.setCustomerName(inv.getCustomerName());
+        copy.setCustomerId(inv.getCustomerId());
+        copy.setIssueDate(inv.getIssueDate());
+        copy.setDueDate(inv.getDueDate());
+        copy.setStatus(inv.getStatus());
+        copy.setAmountPaid(amountPaid);
+        copy.setItems(inv.getItems());
+        copy.setTotal(inv.getTotal());
+        return copy;
     }
 
     @Override
@@ -66,15 +365,34 @@ public class InvoiceService implements InvoiceServicePort {
 
     @Override
     public Summary summary() {
-        List<Invoice> all = repository.findAll();
-        Summary s = new Summary();
-        s.totalInvoices = all.size();
-        s.paidCount = all.stream().filter(i -> i.getStatus() == PaymentStatus.PAID).count();
-        s.overdueCount = all.stream().filter(Invoice::isOverdue).count();
-        s.unpaidCount = s.totalInvoices - s.paidCount;
-        s.totalOutstanding = all.stream().map(Invoice::getBalanceDue).reduce(BigDecimal.ZERO, BigDecimal::add);
-        s.totalPaid = all.stream().map(i -> i.getAmountPaid() == null ? BigDecimal.ZERO : i.getAmountPaid()).reduce(BigDecimal.ZERO, BigDecimal::add);
-        return s;
+        return summaryProjection.current();
+    }
+
+    @Override
+    public AgingReport agingReport(LocalDate asOf) {
+        LocalDate date = asOf == null ? LocalDate.now() : asOf;
+        return agingReports.get(date, d -> new AgingReport(d, repository.aging(d)));
+    }
+
+    /** Points each invoice at the customer its name resolves to, creating customers on first use. */
+    private void assignCustomers(List<Invoice> invoices) {
+        Map<String, Long> ids = customers.resolveIds(invoices.stream().map(Invoice::getCustomerName).toList());
+        invoices.forEach(inv -> inv.setCustomerId(inv.getCustomerName() == null ? null : ids.get(inv.getCustomerName())));
+    }
+
+    private Invoice tracked(Invoice before, Supplier<Invoice> action) {
+        SummaryProjection.Write write = summaryProjection.beginWrite(before);
+        Invoice after;
+        try {
+            after = action.get();
+        } catch (RuntimeException e) {
+            summaryProjection.abortWrite(write);
+            agingReports.invalidateAll(); // a payment can be committed before its status update fails
+            throw e;
+        }
+        agingReports.invalidateAll();
+        summaryProjection.endWrite(write, after);
+        return after;
     }
 
     private void autoUpdateStatus(Invoice inv) {
@@ -0,0 +1,100 @@
+package com.capitec.invoice.application;
+
+import com.capitec.invoice.domain.ports.InvoiceRepositoryPort;
+import com.capitec.invoice.domain.ports.LeaderLockPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Brings the stored status in line with the calendar: invoices still UNPAID or PARTIALLY_PAID
+ * after their due date are flipped to OVERDUE, one bulk UPDATE per id range, so no invoice is
+ * loaded into memory. Writes keep doing the same via {@code autoUpdateStatus}; this only catches
+ * invoices nobody touched since they fell due.
+ *
+ * <p>Only the node holding the {@value #LOCK_NAME} lease sweeps. The lease is renewed before every
+ * chunk, so it only has to outlive one chunk, and released at the end; a node that dies mid-sweep is
+ * replaced once it expires. A node that finds its lease lapsed (a long pause, say) stops sweeping,
+ * since another node may have taken over.
+ */
+@Component
+public class OverdueSweeper {
+
+    static final String LOCK_NAME = "overdue-sweep";
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueSweeper.class);
+
+    private final InvoiceRepositoryPort repository;
+    private final LeaderLockPort lock;
+    private final int chunkSize;
+    private final Duration lockTtl;
+    private final String owner;
+    private final Counter transitions;
+    private final Timer duration;
+
+    public OverdueSweeper(InvoiceRepositoryPort repository, LeaderLockPort lock, MeterRegistry meters,
+                          @Value("${invoice.overdue.chunk-size:1000}") int chunkSize,
+                          @Value("${invoice.overdue.lock-ttl:10m}") Duration lockTtl) {
+        this.repository = repository;
+        this.lock = lock;
+        this.chunkSize = chunkSize;
+        this.lockTtl = lockTtl;
+        this.owner = hostName() + "-" + UUID.randomUUID();
+        this.transitions = Counter.builder("invoice.overdue.sweep.transitions")
+                .description("Invoices moved to OVERDUE by the sweeper").register(meters);
+        this.duration = Timer.builder("invoice.overdue.sweep.duration")
+                .description("Time taken by overdue sweeps that ran on this node").register(meters);
+    }
+
+    @Scheduled(cron = "${invoice.overdue.sweep-cron:0 5 0 * * *}")
+    public void scheduledSweep() {
+        sweep(LocalDate.now());
+    }
+
+    /** Runs one sweep; returns the number of invoices transitioned, or -1 if another node holds the lease. */
+    public long sweep(LocalDate today) {
+        if (!lock.tryAcquire(LOCK_NAME, owner, lockTtl)) {
+            log.debug("Overdue sweep skipped: lease held by another node");
+            return -1;
+        }
+        long started = System.nanoTime();
+        long updated = 0;
+        try {
+            long maxId = repository.maxId();
+            for (long from = 0; from < maxId; from += chunkSize) {
+                if (from > 0 && !lock.renew(LOCK_NAME, owner, lockTtl)) {
+                    log.warn("Overdue sweep stopped before id {}: the lease expired", from);
+                    break;
+                }
+                int n = repository.markOverdue(today, from, Math.min(from + chunkSize, maxId));
+                updated += n;
+                transitions.increment(n);
+            }
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            duration.record(Duration.ofNanos(elapsed));
+            lock.release(LOCK_NAME, owner);
+            log.info("Overdue sweep as of {} moved {} invoices to OVERDUE in {} ms", today, updated, elapsed / 1_000_000);
+        }
+        return updated;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.capitec.invoice.application;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks that keys hash onto, so callers can lock per key without keeping a lock
+ * per key alive. Different keys only contend when they land on the same stripe.
+ */
+final class StripedLocks {
+
+    private final Lock[] locks;
+
+    StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new Lock[size];
+        for (int i = 0; i < size; i++) locks[i] = new ReentrantLock();
+    }
+
+    Lock get(Object key) {
+        return locks[index(key)];
+    }
+
+    /** The distinct locks for {@code keys} in stripe order; acquire them in this order to avoid deadlock. */
+    List<Lock> getAll(Collection<?> keys) {
+        return keys.stream().mapToInt(this::index).distinct().sorted().mapToObj(i -> locks[i]).toList();
+    }
+
+    private int index(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return h & (locks.length - 1);
+    }
+}
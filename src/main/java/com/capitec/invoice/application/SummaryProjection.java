@@ -0,0 +1,277 @@
+package com.capitec.invoice.application;
+
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.PaymentStatus;
+import com.capitec.invoice.domain.ports.InvoiceRepositoryPort;
+import com.capitec.invoice.domain.ports.InvoiceServicePort.Summary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory summary kept current by applying per-invoice deltas on every write, so reading it
+ * never touches the database. It is seeded lazily from {@link InvoiceRepositoryPort#summarize},
+ * rebased when the date rolls over (invoices silently become overdue at midnight) and
+ * periodically reconciled against a full recompute.
+ *
+ * <p>Writers bracket each repository write with {@link #beginWrite} and then {@link #endWrite} on
+ * success or {@link #abortWrite} on failure. A recompute first lets the writes in flight finish
+ * (new ones wait for that moment), so each write is either already committed when the query runs
+ * or starts after it; the deltas of the latter are recorded and applied on top of the result.
+ * Under steady write traffic the recompute is therefore still installed, and readers go back to
+ * the in-memory totals.
+ *
+ * <p>A thread must not call {@link #current()} while it has a write open, and opens at most one
+ * write at a time.
+ */
+@Component
+public class SummaryProjection {
+
+    private static final Logger log = LoggerFactory.getLogger(SummaryProjection.class);
+
+    private final InvoiceRepositoryPort repository;
+
+    private boolean loaded;
+    private LocalDate asOf;
+    private long totalInvoices;
+    private long paidCount;
+    private long overdueCount;
+    private BigDecimal totalOutstanding = BigDecimal.ZERO;
+    private BigDecimal totalPaid = BigDecimal.ZERO;
+
+    private final ReentrantLock rebaseLock = new ReentrantLock();
+    private int writesInFlight;
+    private boolean draining;
+    private List<Delta> recorded; // non-null while a recompute query runs
+
+    public SummaryProjection(InvoiceRepositoryPort repository) {
+        this.repository = repository;
+    }
+
+    public Summary current() {
+        LocalDate today = LocalDate.now();
+        synchronized (this) {
+            if (loaded && today.equals(asOf)) {
+                return snapshot();
+            }
+        }
+        rebaseLock.lock();
+        try {
+            synchronized (this) {
+                if (loaded && today.equals(asOf)) {
+                    return snapshot(); // another caller rebased while this one waited
+                }
+            }
+            return rebase(today, false);
+        } finally {
+            rebaseLock.unlock();
+        }
+    }
+
+    /** Captures the state of {@code before} (null for a new invoice) ahead of a write. */
+    public Write beginWrite(Invoice before) {
+        Write write = new Write(before == null ? null : new Contribution(before));
+        synchronized (this) {
+            boolean interrupted = false;
+            while (draining) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+            writesInFlight++;
+        }
+        return write;
+    }
+
+    /** Applies the delta from the captured state to {@code after} (null when the invoice was deleted). */
+    public void endWrite(Write write, Invoice after) {
+        Contribution next = after == null ? null : new Contribution(after);
+        synchronized (this) {
+            record(write.before, -1);
+            record(next, 1);
+            writeEnded();
+        }
+    }
+
+    /** Opens a write whose prior states are only known once it has run, such as a set-based update. */
+    public Write beginBulkWrite() {
+        return beginWrite(null);
+    }
+
+    /** Applies a bulk write: removes each of {@code before} and adds each of {@code after}. */
+    public void endBulkWrite(Write write, List<Invoice> before, List<Invoice> after) {
+        List<Contribution> removed = before.stream().map(Contribution::new).toList();
+        List<Contribution> added = after.stream().map(Contribution::new).toList();
+        synchronized (this) {
+            removed.forEach(c -> record(c, -1));
+            added.forEach(c -> record(c, 1));
+            writeEnded();
+        }
+    }
+
+    /** Releases a write that failed; nothing is applied. */
+    public synchronized void abortWrite(Write write) {
+        writeEnded();
+    }
+
+    @Scheduled(cron = "${invoice.summary.rollover-cron:0 0 0 * * *}")
+    public void rollover() {
+        rebaseLock.lock();
+        try {
+            rebase(LocalDate.now(), false);
+        } finally {
+            rebaseLock.unlock();
+        }
+    }
+
+    @Scheduled(cron = "${invoice.summary.reconcile-cron:0 */15 * * * *}")
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        rebaseLock.lock();
+        try {
+            synchronized (this) {
+                if (!loaded || !today.equals(asOf)) return;
+            }
+            rebase(today, true);
+        } finally {
+            rebaseLock.unlock();
+        }
+    }
+
+    // Callers hold rebaseLock, so only one recompute records at a time.
+    private Summary rebase(LocalDate today, boolean checkDrift) {
+        Summary expected;
+        synchronized (this) {
+            // wait for the writes in flight to finish, holding back new ones until the query is about to run
+            draining = true;
+            boolean interrupted = false;
+            while (writesInFlight > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            draining = false;
+            notifyAll();
+            if (interrupted) Thread.currentThread().interrupt();
+            expected = checkDrift ? snapshot() : null;
+            recorded = new ArrayList<>();
+        }
+        Summary fresh;
+        try {
+            fresh = repository.summarize(today);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                recorded = null;
+            }
+            throw e;
+        }
+        Summary result;
+        synchronized (this) {
+            loaded = true;
+            asOf = today;
+            totalInvoices = fresh.totalInvoices;
+            paidCount = fresh.paidCount;
+            overdueCount = fresh.overdueCount;
+            totalOutstanding = fresh.totalOutstanding;
+            totalPaid = fresh.totalPaid;
+            // writes that started once the query was under way are not in its result
+            recorded.forEach(d -> apply(d.contribution, d.sign));
+            recorded = null;
+            result = snapshot();
+        }
+        if (expected != null && !sameTotals(expected, fresh)) {
+            log.warn("Summary projection drifted from database: projected total={} paid={} overdue={} outstanding={} paidAmount={}, "
+                            + "actual total={} paid={} overdue={} outstanding={} paidAmount={}",
+                    expected.totalInvoices, expected.paidCount, expected.overdueCount, expected.totalOutstanding, expected.totalPaid,
+                    fresh.totalInvoices, fresh.paidCount, fresh.overdueCount, fresh.totalOutstanding, fresh.totalPaid);
+        }
+        return result;
+    }
+
+    // guarded by this
+    private void record(Contribution c, int sign) {
+        if (c == null) return;
+        if (recorded != null) recorded.add(new Delta(c, sign));
+        if (loaded) apply(c, sign);
+    }
+
+    // guarded by this
+    private void writeEnded() {
+        writesInFlight--;
+        if (writesInFlight == 0 && draining) notifyAll();
+    }
+
+    private void apply(Contribution c, int sign) {
+        if (c == null) return;
+        totalInvoices += sign;
+        if (c.paid) paidCount += sign;
+        if (!c.paid && c.dueDate != null && c.dueDate.isBefore(asOf)) overdueCount += sign;
+        BigDecimal s = BigDecimal.valueOf(sign);
+        totalOutstanding = totalOutstanding.add(c.balanceDue.multiply(s));
+        totalPaid = totalPaid.add(c.amountPaid.multiply(s));
+    }
+
+    private Summary snapshot() {
+        Summary s = new Summary();
+        s.totalInvoices = totalInvoices;
+        s.paidCount = paidCount;
+        s.unpaidCount = totalInvoices - paidCount;
+        s.overdueCount = overdueCount;
+        s.totalOutstanding = totalOutstanding;
+        s.totalPaid = totalPaid;
+        return s;
+    }
+
+    private static boolean sameTotals(Summary a, Summary b) {
+        return a.totalInvoices == b.totalInvoices
+                && a.paidCount == b.paidCount
+                && a.overdueCount == b.overdueCount
+                && a.totalOutstanding.compareTo(b.totalOutstanding) == 0
+                && a.totalPaid.compareTo(b.totalPaid) == 0;
+    }
+
+    /** Handle returned by {@link #beginWrite}; pass it back to {@link #endWrite}. */
+    public static final class Write {
+        private final Contribution before;
+
+        private Write(Contribution before) {
+            this.before = before;
+        }
+    }
+
+    private static final class Delta {
+        final Contribution contribution;
+        final int sign;
+
+        Delta(Contribution contribution, int sign) {
+            this.contribution = contribution;
+            this.sign = sign;
+        }
+    }
+
+    private static final class Contribution {
+        final boolean paid;
+        final LocalDate dueDate;
+        final BigDecimal balanceDue;
+        final BigDecimal amountPaid;
+
+        Contribution(Invoice inv) {
+            this.paid = inv.getStatus() == PaymentStatus.PAID;
+            this.dueDate = inv.getDueDate();
+            this.balanceDue = inv.getBalanceDue();
+            this.amountPaid = inv.getAmountPaid() == null ? BigDecimal.ZERO : inv.getAmountPaid();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.capitec.invoice.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/** Accounts-receivable aging as of a date: a row per customer with an open balance, by name, and their sum. */
+public class AgingReport {
+    private final LocalDate asOf;
+    private final List<AgingRow> rows;
+    private final AgingRow totals;
+
+    public AgingReport(LocalDate asOf, List<AgingRow> rows) {
+        this.asOf = asOf;
+        this.rows = List.copyOf(rows);
+        long count = 0;
+        BigDecimal notDue = BigDecimal.ZERO, d30 = BigDecimal.ZERO, d60 = BigDecimal.ZERO, d90 = BigDecimal.ZERO, over = BigDecimal.ZERO;
+        for (AgingRow r : this.rows) {
+            count += r.getInvoiceCount();
+            notDue = notDue.add(r.getNotDue());
+            d30 = d30.add(r.getDays0To30());
+            d60 = d60.add(r.getDays31To60());
+            d90 = d90.add(r.getDays61To90());
+            over = over.add(r.getOver90());
+        }
+        this.totals = new AgingRow(null, null, count, notDue, d30, d60, d90, over);
+    }
+
+    public LocalDate getAsOf() { return asOf; }
+    public List<AgingRow> getRows() { return rows; }
+    public AgingRow getTotals() { return totals; }
+}
@@ -0,0 +1,41 @@
+package com.capitec.invoice.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * One customer's open balance split by how many days past its due date each invoice is on the
+ * report date. Immutable, so a cached report can be handed to every caller.
+ */
+public class AgingRow {
+    private final Long customerId;
+    private final String customerName;
+    private final long invoiceCount;
+    private final BigDecimal notDue;
+    private final BigDecimal days0To30;
+    private final BigDecimal days31To60;
+    private final BigDecimal days61To90;
+    private final BigDecimal over90;
+
+    public AgingRow(Long customerId, String customerName, long invoiceCount, BigDecimal notDue,
+                    BigDecimal days0To30, BigDecimal days31To60, BigDecimal days61To90, BigDecimal over90) {
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.invoiceCount = invoiceCount;
+        this.notDue = notDue;
+        this.days0To30 = days0To30;
+        this.days31To60 = days31To60;
+        this.days61To90 = days61To90;
+        this.over90 = over90;
+    }
+
+    public Long getCustomerId() { return customerId; }
+    public String getCustomerName() { return customerName; }
+    public long getInvoiceCount() { return invoiceCount; }
+    /** Balance on invoices whose due date is after the report date. */
+    public BigDecimal getNotDue() { return notDue; }
+    public BigDecimal getDays0To30() { return days0To30; }
+    public BigDecimal getDays31To60() { return days31To60; }
+    public BigDecimal getDays61To90() { return days61To90; }
+    public BigDecimal getOver90() { return over90; }
+    public BigDecimal getOutstanding() { return notDue.add(days0To30).add(days31To60).add(days61To90).add(over90); }
+}
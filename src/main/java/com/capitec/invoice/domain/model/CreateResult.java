@@ -0,0 +1,27 @@
+package com.capitec.invoice.domain.model;
+
+/**
+ * Outcome of one invoice in a batch create: either the saved invoice or the reason it was rejected.
+ * A rejection is {@linkplain #isFailed() failed} when the invoice itself was fine but its chunk
+ * could not be written, so submitting it again may succeed.
+ */
+public class CreateResult {
+    private final Invoice invoice;
+    private final String error;
+    private final boolean failed;
+
+    private CreateResult(Invoice invoice, String error, boolean failed) {
+        this.invoice = invoice;
+        this.error = error;
+        this.failed = failed;
+    }
+
+    public static CreateResult created(Invoice invoice) { return new CreateResult(invoice, null, false); }
+    public static CreateResult rejected(String error) { return new CreateResult(null, error, false); }
+    public static CreateResult failed(String error) { return new CreateResult(null, error, true); }
+
+    public boolean isCreated() { return invoice != null; }
+    public Invoice getInvoice() { return invoice; }
+    public String getError() { return error; }
+    public boolean isFailed() { return failed; }
+}
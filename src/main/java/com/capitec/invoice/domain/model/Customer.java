@@ -0,0 +1,40 @@
+package com.capitec.invoice.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * A customer with running totals over its invoices. Every invoice write adjusts the totals, so
+ * reading them costs the same for ten invoices or a hundred thousand. The overdue figures count
+ * invoices whose stored status is {@code OVERDUE}; the nightly overdue sweep keeps that current.
+ */
+public class Customer {
+    private Long id;
+    private String name;
+    private long invoiceCount;
+    private BigDecimal totalPaid = BigDecimal.ZERO;
+    private BigDecimal outstanding = BigDecimal.ZERO;
+    private long overdueCount;
+    private BigDecimal overdueOutstanding = BigDecimal.ZERO;
+
+    public Customer() {}
+
+    public Customer(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public long getInvoiceCount() { return invoiceCount; }
+    public void setInvoiceCount(long invoiceCount) { this.invoiceCount = invoiceCount; }
+    public BigDecimal getTotalPaid() { return totalPaid; }
+    public void setTotalPaid(BigDecimal totalPaid) { this.totalPaid = totalPaid; }
+    public BigDecimal getOutstanding() { return outstanding; }
+    public void setOutstanding(BigDecimal outstanding) { this.outstanding = outstanding; }
+    public long getOverdueCount() { return overdueCount; }
+    public void setOverdueCount(long overdueCount) { this.overdueCount = overdueCount; }
+    public BigDecimal getOverdueOutstanding() { return overdueOutstanding; }
+    public void setOverdueOutstanding(BigDecimal overdueOutstanding) { this.overdueOutstanding = overdueOutstanding; }
+}
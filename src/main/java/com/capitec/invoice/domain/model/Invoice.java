@@ -2,29 +2,38 @@ package com.capitec.invoice.domain.model;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 public class Invoice {
     private Long id;
     private String invoiceNumber;
     private String customerName;
+    // the customer the name resolves to; set when the invoice is saved
+    private Long customerId;
     private LocalDate issueDate;
     private LocalDate dueDate;
     private PaymentStatus status;
     private BigDecimal amountPaid = BigDecimal.ZERO;
-    private List<InvoiceItem> items = new ArrayList<>();
+    private List<InvoiceItem> items = List.of();
+    // sum of the line totals, computed on first use; setItems clears it
+    private BigDecimal total;
 
     public Invoice() {}
 
     public Invoice(Long id) { this.id = id; }
 
     public BigDecimal getSubtotal() {
-        return items.stream().map(InvoiceItem::getLineTotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (total == null) {
+            total = items.stream().map(InvoiceItem::getLineTotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+        return total;
     }
 
     public BigDecimal getTotal() { return getSubtotal(); }
 
+    /** Supplies a total already known for the current items (e.g. the stored column), so it is not re-derived. */
+    public void setTotal(BigDecimal total) { this.total = total; }
+
     public BigDecimal getBalanceDue() { return getTotal().subtract(amountPaid == null ? BigDecimal.ZERO : amountPaid); }
 
     public boolean isOverdue() {
@@ -37,6 +46,8 @@ public class Invoice {
     public void setInvoiceNumber(String invoiceNumber) { this.invoiceNumber = invoiceNumber; }
     public String getCustomerName() { return customerName; }
     public void setCustomerName(String customerName) { this.customerName = customerName; }
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
     public LocalDate getIssueDate() { return issueDate; }
     public void setIssueDate(LocalDate issueDate) { this.issueDate = issueDate; }
     public LocalDate getDueDate() { return dueDate; }
@@ -45,6 +56,10 @@ public class Invoice {
     public void setStatus(PaymentStatus status) { this.status = status; }
     public BigDecimal getAmountPaid() { return amountPaid; }
     public void setAmountPaid(BigDecimal amountPaid) { this.amountPaid = amountPaid; }
+    /** Unmodifiable, like the items themselves, so the cached total cannot go stale; replace them through {@link #setItems}. */
     public List<InvoiceItem> getItems() { return items; }
-    public void setItems(List<InvoiceItem> items) { this.items = items; }
+    public void setItems(List<InvoiceItem> items) {
+        this.items = items == null ? List.of() : List.copyOf(items);
+        this.total = null;
+    }
 }
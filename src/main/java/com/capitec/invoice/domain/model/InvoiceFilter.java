@@ -0,0 +1,31 @@
+package com.capitec.invoice.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Optional criteria for listing invoices. A null field means "no restriction".
+ */
+public class InvoiceFilter {
+    private PaymentStatus status;
+    private String customerName;
+    private LocalDate dueFrom;
+    private LocalDate dueTo;
+
+    public InvoiceFilter() {}
+
+    public InvoiceFilter(PaymentStatus status, String customerName, LocalDate dueFrom, LocalDate dueTo) {
+        this.status = status;
+        this.customerName = customerName;
+        this.dueFrom = dueFrom;
+        this.dueTo = dueTo;
+    }
+
+    public PaymentStatus getStatus() { return status; }
+    public void setStatus(PaymentStatus status) { this.status = status; }
+    public String getCustomerName() { return customerName; }
+    public void setCustomerName(String customerName) { this.customerName = customerName; }
+    public LocalDate getDueFrom() { return dueFrom; }
+    public void setDueFrom(LocalDate dueFrom) { this.dueFrom = dueFrom; }
+    public LocalDate getDueTo() { return dueTo; }
+    public void setDueTo(LocalDate dueTo) { this.dueTo = dueTo; }
+}
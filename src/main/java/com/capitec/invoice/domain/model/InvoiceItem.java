@@ -2,13 +2,12 @@ package com.capitec.invoice.domain.model;
 
 import java.math.BigDecimal;
 
+/** One invoice line. Immutable, so an {@link Invoice} can keep the total of its items. */
 public class InvoiceItem {
-    private Long id;
-    private String description;
-    private int quantity;
-    private BigDecimal unitPrice;
-
-    public InvoiceItem() {}
+    private final Long id;
+    private final String description;
+    private final int quantity;
+    private final BigDecimal unitPrice;
 
     public InvoiceItem(Long id, String description, int quantity, BigDecimal unitPrice) {
         this.id = id;
@@ -22,11 +21,7 @@ public class InvoiceItem {
     }
 
     public Long getId() { return id; }
-    public void setId(Long id) { this.id = id; }
     public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
     public int getQuantity() { return quantity; }
-    public void setQuantity(int quantity) { this.quantity = quantity; }
     public BigDecimal getUnitPrice() { return unitPrice; }
-    public void setUnitPrice(BigDecimal unitPrice) { this.unitPrice = unitPrice; }
 }
@@ -0,0 +1,21 @@
+package com.capitec.invoice.domain.model;
+
+import java.util.List;
+
+/**
+ * One keyset page of invoices ordered by id. {@code nextCursor} is the id to pass as the
+ * cursor for the following page, or null when this is the last page.
+ */
+public class InvoicePage {
+    private final List<Invoice> items;
+    private final Long nextCursor;
+
+    public InvoicePage(List<Invoice> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Invoice> getItems() { return items; }
+    public Long getNextCursor() { return nextCursor; }
+    public boolean hasNext() { return nextCursor != null; }
+}
@@ -0,0 +1,36 @@
+package com.capitec.invoice.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One payment received against an invoice. The idempotency key, when present, identifies the
+ * payment at its source (a bank callback id or statement reference) so a retried delivery is
+ * recognised instead of being counted twice.
+ */
+public class Payment {
+    private Long id;
+    private Long invoiceId;
+    private BigDecimal amount;
+    private String idempotencyKey;
+    private Instant receivedAt;
+
+    public Payment() {}
+
+    public Payment(Long invoiceId, BigDecimal amount, String idempotencyKey) {
+        this.invoiceId = invoiceId;
+        this.amount = amount;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getInvoiceId() { return invoiceId; }
+    public void setInvoiceId(Long invoiceId) { this.invoiceId = invoiceId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+    public Instant getReceivedAt() { return receivedAt; }
+    public void setReceivedAt(Instant receivedAt) { this.receivedAt = receivedAt; }
+}
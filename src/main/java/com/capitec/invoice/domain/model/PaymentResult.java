@@ -0,0 +1,35 @@
+package com.capitec.invoice.domain.model;
+
+/**
+ * Outcome of recording one payment. {@code DUPLICATE} means the idempotency key was seen before
+ * and nothing was applied; {@code FAILED} means the payment was valid but its chunk could not be
+ * written, so it is safe to submit again.
+ */
+public class PaymentResult {
+
+    public enum Status { APPLIED, DUPLICATE, REJECTED, FAILED }
+
+    private final Status status;
+    private final Payment payment;
+    private final Invoice invoice;
+    private final String error;
+
+    private PaymentResult(Status status, Payment payment, Invoice invoice, String error) {
+        this.status = status;
+        this.payment = payment;
+        this.invoice = invoice;
+        this.error = error;
+    }
+
+    public static PaymentResult applied(Payment payment, Invoice invoice) { return new PaymentResult(Status.APPLIED, payment, invoice, null); }
+    public static PaymentResult duplicate(Payment payment, Invoice invoice) { return new PaymentResult(Status.DUPLICATE, payment, invoice, null); }
+    public static PaymentResult rejected(Payment payment, String error) { return new PaymentResult(Status.REJECTED, payment, null, error); }
+    public static PaymentResult failed(Payment payment, String error) { return new PaymentResult(Status.FAILED, payment, null, error); }
+
+    public Status getStatus() { return status; }
+    /** The recorded payment; for a duplicate, the one recorded first. */
+    public Payment getPayment() { return payment; }
+    /** The invoice after the payment, when known. */
+    public Invoice getInvoice() { return invoice; }
+    public String getError() { return error; }
+}
@@ -0,0 +1,21 @@
+package com.capitec.invoice.domain.model;
+
+/** One search match: enough of the invoice to show in a result list, and its relevance score. */
+public class SearchHit {
+    private final Long id;
+    private final String invoiceNumber;
+    private final String customerName;
+    private final double score;
+
+    public SearchHit(Long id, String invoiceNumber, String customerName, double score) {
+        this.id = id;
+        this.invoiceNumber = invoiceNumber;
+        this.customerName = customerName;
+        this.score = score;
+    }
+
+    public Long getId() { return id; }
+    public String getInvoiceNumber() { return invoiceNumber; }
+    public String getCustomerName() { return customerName; }
+    public double getScore() { return score; }
+}
@@ -0,0 +1,17 @@
+package com.capitec.invoice.domain.model;
+
+import java.util.List;
+
+/** One page of search hits, best first, and the number of invoices that matched in total. */
+public class SearchResult {
+    private final List<SearchHit> hits;
+    private final long total;
+
+    public SearchResult(List<SearchHit> hits, long total) {
+        this.hits = hits;
+        this.total = total;
+    }
+
+    public List<SearchHit> getHits() { return hits; }
+    public long getTotal() { return total; }
+}
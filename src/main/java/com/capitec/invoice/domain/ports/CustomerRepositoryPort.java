@@ -0,0 +1,18 @@
+package com.capitec.invoice.domain.ports;
+
+import com.capitec.invoice.domain.model.Customer;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Customers and their running totals. The totals are written by the invoice repository in the same
+ * transaction as each invoice change, so this port only resolves and reads customers.
+ */
+public interface CustomerRepositoryPort {
+    /** Ids of the customers with these names, creating the ones that do not exist yet. */
+    Map<String, Long> resolveIds(Collection<String> names);
+    Optional<Customer> findById(Long id);
+    Optional<Customer> findByName(String name);
+}
@@ -0,0 +1,10 @@
+package com.capitec.invoice.domain.ports;
+
+/**
+ * Remembers how far an import got, so a re-submitted import skips rows that were already committed.
+ */
+public interface ImportCheckpointPort {
+    /** Last committed row of the import, or 0 when it has not committed anything yet. */
+    long lastCommittedRow(String importId);
+    void save(String importId, long lastCommittedRow);
+}
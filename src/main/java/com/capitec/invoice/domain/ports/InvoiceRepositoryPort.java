@@ -1,15 +1,55 @@
 package com.capitec.invoice.domain.ports;
 
+import com.capitec.invoice.domain.model.AgingRow;
 import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceFilter;
+import com.capitec.invoice.domain.model.InvoicePage;
+import com.capitec.invoice.domain.model.Payment;
+import com.capitec.invoice.domain.model.PaymentStatus;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface InvoiceRepositoryPort {
     Invoice save(Invoice invoice);
+    /** Inserts new invoices in one transaction using JDBC batching; returns them with ids assigned. */
+    List<Invoice> saveAll(List<Invoice> invoices);
+    Set<String> findExistingInvoiceNumbers(Collection<String> invoiceNumbers);
     Optional<Invoice> findById(Long id);
     List<Invoice> findAll();
+    InvoicePage findPage(InvoiceFilter filter, Long afterId, int limit);
+    /** Passes every matching invoice, in id order, to {@code action} without holding them all in memory. */
+    void forEach(InvoiceFilter filter, Consumer<Invoice> action);
     void deleteById(Long id);
+    /**
+     * Records the payment and atomically adds it to the invoice's amount paid, in one transaction;
+     * returns the invoice as it is after the increment, or empty if it does not exist.
+     */
+    Optional<Invoice> addPayment(Payment payment);
+    /**
+     * Records payments for existing invoices and applies them with one set-based update, in one
+     * transaction; returns each affected invoice as it is after the update.
+     */
+    List<Invoice> applyPayments(List<Payment> payments);
+    /** Sets the status only if the amount paid is still {@code expectedAmountPaid}; returns whether it did. */
+    boolean updateStatus(Long id, PaymentStatus status, BigDecimal expectedAmountPaid);
+    /** As {@link #updateStatus} for each invoice's own status and amount; returns the ids that were not updated. */
+    Set<Long> updateStatuses(List<Invoice> invoices);
+    Set<Long> findExistingIds(Collection<Long> ids);
+    Optional<Payment> findPaymentByIdempotencyKey(String idempotencyKey);
+    Set<String> findExistingIdempotencyKeys(Collection<String> keys);
+    List<Payment> findPayments(Long invoiceId);
     List<Invoice> findOverdue(LocalDate today);
+    /** Flips unpaid invoices in {@code (fromId, toId]} that fell due before {@code today} to OVERDUE; returns rows changed. */
+    int markOverdue(LocalDate today, long fromId, long toId);
+    /** Highest invoice id, or 0 when there are none. */
+    long maxId();
+    InvoiceServicePort.Summary summarize(LocalDate today);
+    /** Open balances bucketed by days past due on {@code asOf}, one row per customer ordered by name, in one aggregate query. */
+    List<AgingRow> aging(LocalDate asOf);
 }
@@ -1,21 +1,51 @@
 package com.capitec.invoice.domain.ports;
 
+import com.capitec.invoice.domain.model.AgingReport;
+import com.capitec.invoice.domain.model.CreateResult;
+import com.capitec.invoice.domain.model.Customer;
 import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceFilter;
+import com.capitec.invoice.domain.model.InvoicePage;
+import com.capitec.invoice.domain.model.Payment;
+import com.capitec.invoice.domain.model.PaymentResult;
 import com.capitec.invoice.domain.model.PaymentStatus;
+import com.capitec.invoice.domain.model.SearchResult;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface InvoiceServicePort {
     Invoice create(Invoice invoice);
+    /** Creates many invoices; results are in input order and a rejected invoice does not fail the rest. */
+    List<CreateResult> createAll(List<Invoice> invoices);
     Optional<Invoice> get(Long id);
-    List<Invoice> list();
+    InvoicePage list(InvoiceFilter filter, Long cursor, int limit);
+    /**
+     * Ranked full-text search over invoice number, customer name and item descriptions, with prefix and fuzzy matching.
+     *
+     * @throws IllegalArgumentException if {@code offset} is beyond the deepest page search serves
+     */
+    SearchResult search(String query, int offset, int limit);
+    /** Streams every invoice matching {@code filter} to {@code action} in id order, for exports. */
+    void forEachInvoice(InvoiceFilter filter, Consumer<Invoice> action);
     Invoice update(Long id, Invoice invoice);
     void delete(Long id);
     Invoice recordPayment(Long id, BigDecimal amount);
+    /** Records one payment; a payment whose idempotency key was already recorded is not applied again. */
+    PaymentResult recordPayment(Payment payment);
+    /** Records many payments, results in input order; duplicates and invalid payments do not fail the rest. */
+    List<PaymentResult> recordPayments(List<Payment> payments);
+    List<Payment> listPayments(Long invoiceId);
     List<Invoice> listOverdue();
     Summary summary();
+    /** A customer with its running invoice totals. */
+    Optional<Customer> getCustomer(Long id);
+    Optional<Customer> findCustomer(String name);
+    /** Receivables aging on {@code asOf}: current balances by customer in 0-30, 31-60, 61-90 and 90+ days past due. */
+    AgingReport agingReport(LocalDate asOf);
 
     class Summary {
         public long totalInvoices;
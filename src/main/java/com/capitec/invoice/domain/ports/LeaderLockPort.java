@@ -0,0 +1,15 @@
+package com.capitec.invoice.domain.ports;
+
+import java.time.Duration;
+
+/**
+ * Named lease shared by all instances, so a scheduled job runs on one node at a time. A lease
+ * that is not released expires after its time to live, so a crashed holder cannot block the job.
+ */
+public interface LeaderLockPort {
+    /** Takes or renews the lease for {@code owner}; returns false if another owner holds an unexpired lease. */
+    boolean tryAcquire(String name, String owner, Duration ttl);
+    /** Extends a lease {@code owner} still holds by {@code ttl} from now; returns false if it expired or was taken over. */
+    boolean renew(String name, String owner, Duration ttl);
+    void release(String name, String owner);
+}
@@ -0,0 +1,39 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Creates a customer for each distinct name on existing invoices, links the invoices and computes the
+ * running totals once. In Java rather than SQL because the customers sequence then has to be moved
+ * past the ids handed out here, and neither database takes a computed value in {@code restart with}.
+ */
+public class V3__backfill_customers extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement st = context.getConnection().createStatement()) {
+            st.executeUpdate("insert into customers (id, name, invoice_count, total_paid, outstanding, overdue_count, overdue_outstanding)"
+                    + " select row_number() over (order by customer_name), customer_name, 0, 0, 0, 0, 0"
+                    + " from (select distinct customer_name from invoices where customer_name is not null) names");
+            st.executeUpdate("update invoices set customer_id = (select c.id from customers c where c.name = invoices.customer_name)");
+            st.executeUpdate("update customers set"
+                    + " invoice_count = (select count(*) from invoices i where i.customer_id = customers.id),"
+                    + " total_paid = (select coalesce(sum(i.amount_paid), 0) from invoices i where i.customer_id = customers.id),"
+                    + " outstanding = (select coalesce(sum(i.balance_due), 0) from invoices i where i.customer_id = customers.id),"
+                    + " overdue_count = (select count(*) from invoices i where i.customer_id = customers.id and i.status = 'OVERDUE'),"
+                    + " overdue_outstanding = (select coalesce(sum(i.balance_due), 0) from invoices i"
+                    + "   where i.customer_id = customers.id and i.status = 'OVERDUE')");
+            long maxId;
+            try (ResultSet rs = st.executeQuery("select coalesce(max(id), 0) from customers")) {
+                rs.next();
+                maxId = rs.getLong(1);
+            }
+            // Hibernate's pooled optimizer hands out the 50 ids below each sequence value, so skip a full block
+            if (maxId > 0) st.execute("alter sequence customers_seq restart with " + (maxId + 50));
+        }
+    }
+}
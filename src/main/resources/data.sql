@@ -1,15 +1,28 @@
 -- Let Hibernate create the schema; only insert seed data matching JPA naming
-INSERT INTO invoices (id, invoice_number, customer_name, issue_date, due_date, status, amount_paid) VALUES
-  (1, 'INV-1001', 'Acme Corp', DATE '2025-09-15', DATE '2025-09-30', 'UNPAID', 0),
-  (2, 'INV-1002', 'Globex Inc', DATE '2025-09-20', DATE '2025-10-05', 'PARTIALLY_PAID', 150.00),
-  (3, 'INV-1003', 'Soylent Co', DATE '2025-08-01', DATE '2025-08-15', 'OVERDUE', 0);
-
-INSERT INTO invoice_items (description, quantity, unit_price, invoice_id) VALUES
-  ('Consulting Services', 10, 100.00, 1),
-  ('Maintenance', 5, 50.00, 1),
-  ('Software License', 1, 500.00, 2),
-  ('Support Hours', 5, 50.00, 2),
-  ('Subscription', 12, 25.00, 3);
-
--- Ensure auto-increment continues after explicit IDs
-ALTER TABLE invoices ALTER COLUMN id RESTART WITH 4;
+-- Customer totals match the invoices below (count, paid, outstanding, overdue count and balance)
+INSERT INTO customers (id, name, invoice_count, total_paid, outstanding, overdue_count, overdue_outstanding) VALUES
+  (1, 'Acme Corp', 1, 0, 1250.00, 0, 0),
+  (2, 'Globex Inc', 1, 150.00, 600.00, 0, 0),
+  (3, 'Soylent Co', 1, 0, 300.00, 1, 300.00);
+
+INSERT INTO invoices (id, invoice_number, customer_name, customer_id, issue_date, due_date, status, amount_paid, total, balance_due) VALUES
+  (1, 'INV-1001', 'Acme Corp', 1, DATE '2025-09-15', DATE '2025-09-30', 'UNPAID', 0, 1250.00, 1250.00),
+  (2, 'INV-1002', 'Globex Inc', 2, DATE '2025-09-20', DATE '2025-10-05', 'PARTIALLY_PAID', 150.00, 750.00, 600.00),
+  (3, 'INV-1003', 'Soylent Co', 3, DATE '2025-08-01', DATE '2025-08-15', 'OVERDUE', 0, 300.00, 300.00);
+
+INSERT INTO invoice_items (id, description, quantity, unit_price, invoice_id) VALUES
+  (1, 'Consulting Services', 10, 100.00, 1),
+  (2, 'Maintenance', 5, 50.00, 1),
+  (3, 'Software License', 1, 500.00, 2),
+  (4, 'Support Hours', 5, 50.00, 2),
+  (5, 'Subscription', 12, 25.00, 3);
+
+-- The payment behind INV-1002's amount_paid
+INSERT INTO payments (id, invoice_id, amount, idempotency_key, received_at) VALUES
+  (1, 2, 150.00, NULL, TIMESTAMP WITH TIME ZONE '2025-09-25 10:00:00+00:00');
+
+-- Move the pooled sequences past the explicit IDs (Hibernate hands out the 50 ids ending at each value)
+ALTER SEQUENCE invoices_seq RESTART WITH 101;
+ALTER SEQUENCE invoice_items_seq RESTART WITH 101;
+ALTER SEQUENCE payments_seq RESTART WITH 101;
+ALTER SEQUENCE customers_seq RESTART WITH 101;
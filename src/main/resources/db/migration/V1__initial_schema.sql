@@ -0,0 +1,53 @@
+-- Schema for the disk-backed profiles (H2 file mode, PostgreSQL); matches the JPA entities,
+-- which Hibernate validates against it on startup. Kept to SQL both databases accept.
+
+create sequence invoices_seq start with 1 increment by 50;
+create sequence invoice_items_seq start with 1 increment by 50;
+create sequence payments_seq start with 1 increment by 50;
+
+create table invoices (
+    id             bigint        not null primary key,
+    invoice_number varchar(255)  unique,
+    customer_name  varchar(255),
+    issue_date     date,
+    due_date       date,
+    status         varchar(255),
+    amount_paid    numeric(38,2),
+    total          numeric(38,2),
+    balance_due    numeric(38,2)
+);
+create index idx_invoices_status_due_date on invoices (status, due_date);
+create index idx_invoices_due_date on invoices (due_date);
+create index idx_invoices_customer_name on invoices (customer_name, id);
+
+create table invoice_items (
+    id          bigint        not null primary key,
+    description varchar(255),
+    quantity    integer       not null,
+    unit_price  numeric(38,2),
+    invoice_id  bigint        references invoices (id)
+);
+create index idx_invoice_items_invoice_id on invoice_items (invoice_id);
+
+create table payments (
+    id              bigint                   not null primary key,
+    invoice_id      bigint                   not null,
+    amount          numeric(38,2)            not null,
+    idempotency_key varchar(255)             unique,
+    received_at     timestamp(6) with time zone,
+    batch_id        varchar(36)
+);
+create index idx_payments_invoice_id on payments (invoice_id);
+create index idx_payments_batch_id on payments (batch_id);
+
+create table import_checkpoints (
+    import_id          varchar(255) not null primary key,
+    last_committed_row bigint       not null,
+    updated_at         timestamp(6) with time zone
+);
+
+create table scheduler_locks (
+    lock_name    varchar(255) not null primary key,
+    locked_until timestamp(6) with time zone,
+    locked_by    varchar(255)
+);
@@ -0,0 +1,17 @@
+-- Customer dimension with running totals, kept current by every invoice write. Existing invoices are
+-- attached to customers by V3__backfill_customers.
+
+create sequence customers_seq start with 1 increment by 50;
+
+create table customers (
+    id                  bigint        not null primary key,
+    name                varchar(255)  not null unique,
+    invoice_count       bigint        not null,
+    total_paid          numeric(38,2),
+    outstanding         numeric(38,2),
+    overdue_count       bigint        not null,
+    overdue_outstanding numeric(38,2)
+);
+
+alter table invoices add column customer_id bigint;
+create index idx_invoices_customer_id on invoices (customer_id, id);
@@ -0,0 +1,41 @@
+package com.capitec.invoice.adapters.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@DirtiesContext
+class PortMetricsIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void prometheusExposesPortPdfCacheAndPoolMeters() throws Exception {
+        mockMvc.perform(get("/api/invoices/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/invoices/1/pdf")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/invoices/999")).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        matchesPattern("(?s).*invoice_port_seconds_count\\{[^}]*method=\"get\"[^}]*outcome=\"success\"[^}]*port=\"service\"[^}]*} [1-9].*"),
+                        matchesPattern("(?s).*invoice_port_seconds_bucket\\{[^}]*method=\"findById\"[^}]*port=\"repository\".*"),
+                        containsString("invoice_pdf_render_seconds_bucket"),
+                        containsString("invoice_pdf_size_bytes_count"),
+                        matchesPattern("(?s).*cache_hit_ratio\\{[^}]*cache=\"invoices\".*"),
+                        matchesPattern("(?s).*cache_gets_total\\{[^}]*cache=\"pdfs\".*"),
+                        containsString("hikaricp_connections_pending"))));
+    }
+}
@@ -0,0 +1,78 @@
+package com.capitec.invoice.adapters.pdf;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Drives spill() directly: which entry Caffeine evicts for size is its policy's choice, not ours.
+class PdfCacheTests {
+
+    @TempDir
+    Path dir;
+
+    private static CachedPdf pdf(int size, long renderedAt) {
+        return new CachedPdf(new byte[size], renderedAt);
+    }
+
+    private long spilled() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void olderVersionEvictedLateDoesNotReplaceTheSpilledCurrentOne() throws IOException {
+        PdfCache cache = new PdfCache(1_000_000, dir.toString(), 1_000);
+        cache.spill(PdfCache.key(1L, "new"), pdf(60, 2_000));
+        cache.spill(PdfCache.key(1L, "old"), pdf(60, 1_000));
+        assertTrue(Files.exists(dir.resolve("invoice-1-new.pdf")));
+        assertFalse(Files.exists(dir.resolve("invoice-1-old.pdf")));
+
+        cache.spill(PdfCache.key(1L, "newer"), pdf(60, 3_000));
+        assertEquals(1, spilled());
+        assertTrue(cache.get(PdfCache.key(1L, "newer")).isPresent());
+    }
+
+    @Test
+    void deletingAnInvoiceRemovesItsCachedAndSpilledVersions() throws IOException {
+        PdfCache cache = new PdfCache(1_000_000, dir.toString(), 1_000);
+        cache.put(PdfCache.key(1L, "v2"), pdf(60, 2_000));
+        cache.spill(PdfCache.key(1L, "v1"), pdf(60, 1_000));
+        cache.spill(PdfCache.key(2L, "v1"), pdf(60, 1_000));
+
+        cache.evictInvoice(1L);
+        assertTrue(cache.get(PdfCache.key(1L, "v1")).isEmpty());
+        assertTrue(cache.get(PdfCache.key(1L, "v2")).isEmpty());
+        assertTrue(cache.get(PdfCache.key(2L, "v1")).isPresent());
+
+        // a size eviction queued before the delete, whose listener only runs now
+        cache.spill(PdfCache.key(1L, "v2"), pdf(60, 2_000));
+        assertFalse(Files.exists(dir.resolve("invoice-1-v2.pdf")));
+        assertTrue(cache.get(PdfCache.key(1L, "v2")).isEmpty());
+        assertEquals(1, spilled());
+    }
+
+    @Test
+    void spillDirectoryIsBoundedOldestFirst() throws IOException {
+        PdfCache cache = new PdfCache(1_000_000, dir.toString(), 100);
+        for (long id = 1; id <= 4; id++) {
+            cache.spill(PdfCache.key(id, "v"), pdf(40, id * 1_000));
+        }
+        // 160 bytes against a 100-byte bound: the two oldest renders are gone
+        assertEquals(2, spilled());
+        assertFalse(Files.exists(dir.resolve("invoice-2-v.pdf")));
+        assertTrue(Files.exists(dir.resolve("invoice-3-v.pdf")));
+
+        // the bound survives a restart: existing files are counted
+        PdfCache reopened = new PdfCache(1_000_000, dir.toString(), 100);
+        reopened.spill(PdfCache.key(5L, "v"), pdf(40, 5_000));
+        assertEquals(2, spilled());
+        assertFalse(Files.exists(dir.resolve("invoice-3-v.pdf")));
+    }
+}
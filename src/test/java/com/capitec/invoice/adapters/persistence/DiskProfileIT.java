@@ -0,0 +1,60 @@
+package com.capitec.invoice.adapters.persistence;
+
+import com.capitec.invoice.InvoiceApplication;
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceItem;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** The disk profile migrates an empty file database, validates it against the entities and keeps data across restarts. */
+class DiskProfileIT {
+
+    @TempDir
+    Path dataDir;
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(InvoiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("disk")
+                .properties("invoice.data-dir=" + dataDir, "spring.jpa.show-sql=false")
+                .run();
+    }
+
+    @Test
+    void dataSurvivesRestart() {
+        Long id;
+        try (ConfigurableApplicationContext app = start()) {
+            InvoiceServicePort service = app.getBean(InvoiceServicePort.class);
+            assertEquals(0, service.summary().totalInvoices); // migrations only, no sample data
+
+            Invoice inv = new Invoice();
+            inv.setInvoiceNumber("DISK-1");
+            inv.setCustomerName("Durable Ltd");
+            inv.setIssueDate(LocalDate.now());
+            inv.setDueDate(LocalDate.now().plusDays(30));
+            inv.setItems(List.of(new InvoiceItem(null, "Storage", 2, new BigDecimal("40.00"))));
+            id = service.create(inv).getId();
+            service.recordPayment(id, new BigDecimal("30.00"));
+        }
+
+        try (ConfigurableApplicationContext app = start()) {
+            InvoiceServicePort service = app.getBean(InvoiceServicePort.class);
+            Invoice reloaded = service.get(id).orElseThrow();
+            assertEquals("DISK-1", reloaded.getInvoiceNumber());
+            assertEquals(0, new BigDecimal("50.00").compareTo(reloaded.getBalanceDue()));
+            assertEquals(1, service.listPayments(id).size());
+            assertEquals(1, service.summary().totalInvoices);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.capitec.invoice.adapters.persistence;
+
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceFilter;
+import com.capitec.invoice.domain.model.InvoiceItem;
+import com.capitec.invoice.domain.model.Payment;
+import com.capitec.invoice.domain.model.PaymentStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class InvoiceRepositoryAdapterIT {
+
+    @Autowired
+    InvoiceRepositoryAdapter adapter;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    CustomerRepositoryAdapter customers;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    private Invoice invoice(String number) {
+        Invoice inv = new Invoice();
+        inv.setInvoiceNumber(number);
+        inv.setCustomerName("Bulk Co");
+        inv.setIssueDate(LocalDate.now().minusDays(30));
+        inv.setDueDate(LocalDate.now().minusDays(1));
+        inv.setStatus(PaymentStatus.OVERDUE);
+        inv.setItems(List.of(
+                new InvoiceItem(null, "A", 1, new BigDecimal("10.00")),
+                new InvoiceItem(null, "B", 2, new BigDecimal("5.00"))));
+        return inv;
+    }
+
+    private void seed(int count) {
+        for (int i = 0; i < count; i++) {
+            adapter.save(invoice("BULK-" + i));
+        }
+    }
+
+    private long statementsFor(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void pageLoadsItemsInOneBatchedSelectRegardlessOfSize() {
+        long few = statementsFor(() -> adapter.findPage(new InvoiceFilter(), null, 50));
+        seed(40);
+        long many = statementsFor(() -> assertEquals(43, adapter.findPage(new InvoiceFilter(), null, 50).getItems().size()));
+        assertEquals(2, few); // page + items IN (...)
+        assertEquals(few, many);
+    }
+
+    @Test
+    void overdueAndFindAllUseSingleFetchJoin() {
+        seed(25);
+        assertEquals(1, statementsFor(() -> assertEquals(28, adapter.findOverdue(LocalDate.now()).size())));
+        assertEquals(1, statementsFor(() -> adapter.findAll().forEach(inv -> assertFalse(inv.getItems().isEmpty()))));
+    }
+
+    @Test
+    void findByIdIsOneRoundTrip() {
+        assertEquals(1, statementsFor(() -> assertEquals(2, adapter.findById(1L).orElseThrow().getItems().size())));
+    }
+
+    @Test
+    void findByIdIsCachedUntilTheInvoiceIsSaved() {
+        assertEquals(1, statementsFor(() -> adapter.findById(1L)));
+        Invoice cached = adapter.findById(1L).orElseThrow();
+        assertEquals(0, statementsFor(() -> adapter.findById(1L)));
+
+        cached.setCustomerName("Renamed");
+        assertEquals("Acme Corp", adapter.findById(1L).orElseThrow().getCustomerName()); // callers get copies
+
+        adapter.save(cached);
+        assertEquals("Renamed", adapter.findById(1L).orElseThrow().getCustomerName());
+    }
+
+    @Test
+    void storedTotalAndBalanceFollowItemsAndPayments() {
+        Long id = adapter.save(invoice("TOTALS-1")).getId();
+        assertStored(id, "20.00", "20.00");
+
+        adapter.addPayment(new Payment(id, new BigDecimal("5.00"), null));
+        assertStored(id, "20.00", "15.00");
+
+        adapter.applyPayments(List.of(new Payment(id, new BigDecimal("2.50"), null), new Payment(id, new BigDecimal("2.50"), null)));
+        assertStored(id, "20.00", "10.00");
+
+        Invoice edited = adapter.findById(id).orElseThrow();
+        edited.setItems(List.of(new InvoiceItem(null, "C", 3, new BigDecimal("10.00"))));
+        adapter.save(edited);
+        assertStored(id, "30.00", "20.00");
+        assertEquals(0, new BigDecimal("30.00").compareTo(adapter.findById(id).orElseThrow().getTotal()));
+    }
+
+    @Test
+    void customerTotalsMatchARecomputeAfterEveryKindOfWrite() {
+        Map<String, Long> ids = customers.resolveIds(List.of("Bulk Co", "Other Co"));
+        Invoice a = invoice("CUST-1");
+        a.setCustomerId(ids.get("Bulk Co"));
+        Invoice b = invoice("CUST-2");
+        b.setStatus(PaymentStatus.UNPAID);
+        b.setDueDate(LocalDate.of(2000, 1, 1));
+        b.setCustomerId(ids.get("Bulk Co"));
+        Long aId = adapter.save(a).getId();
+        Long bId = adapter.saveAll(List.of(b)).get(0).getId();
+        assertCustomerTotalsMatchInvoices();
+
+        adapter.addPayment(new Payment(aId, new BigDecimal("5.00"), null));
+        adapter.applyPayments(List.of(new Payment(aId, new BigDecimal("1.00"), null), new Payment(bId, new BigDecimal("2.00"), null)));
+        adapter.updateStatus(bId, PaymentStatus.PARTIALLY_PAID, new BigDecimal("2.00"));
+        assertCustomerTotalsMatchInvoices();
+
+        Invoice moved = adapter.findById(aId).orElseThrow();
+        moved.setCustomerName("Other Co");
+        moved.setCustomerId(ids.get("Other Co"));
+        adapter.save(moved);
+        assertCustomerTotalsMatchInvoices();
+
+        assertEquals(3, adapter.markOverdue(LocalDate.now(), 0, adapter.maxId())); // seeded INV-1001, INV-1002 and b
+        assertCustomerTotalsMatchInvoices();
+
+        adapter.deleteById(aId);
+        assertCustomerTotalsMatchInvoices();
+        var bulk = customers.findById(ids.get("Bulk Co")).orElseThrow();
+        assertEquals(1, bulk.getInvoiceCount());
+        assertEquals(1, bulk.getOverdueCount());
+        assertEquals(0, new BigDecimal("18.00").compareTo(bulk.getOverdueOutstanding()));
+    }
+
+    private void assertCustomerTotalsMatchInvoices() {
+        List<Map<String, Object>> drift = jdbc.queryForList("select c.name from customers c left join ("
+                + " select customer_id, count(*) n, sum(amount_paid) paid, sum(balance_due) due,"
+                + " sum(case when status = 'OVERDUE' then 1 else 0 end) overdue_n,"
+                + " sum(case when status = 'OVERDUE' then balance_due else 0 end) overdue_due"
+                + " from invoices group by customer_id) t on t.customer_id = c.id"
+                + " where c.invoice_count <> coalesce(t.n, 0) or c.total_paid <> coalesce(t.paid, 0)"
+                + " or c.outstanding <> coalesce(t.due, 0) or c.overdue_count <> coalesce(t.overdue_n, 0)"
+                + " or c.overdue_outstanding <> coalesce(t.overdue_due, 0)");
+        assertEquals(List.of(), drift);
+    }
+
+    private void assertStored(Long id, String total, String balanceDue) {
+        var row = jdbc.queryForMap("select total, balance_due from invoices where id = ?", id);
+        assertEquals(0, new BigDecimal(total).compareTo((BigDecimal) row.get("TOTAL")));
+        assertEquals(0, new BigDecimal(balanceDue).compareTo((BigDecimal) row.get("BALANCE_DUE")));
+    }
+}
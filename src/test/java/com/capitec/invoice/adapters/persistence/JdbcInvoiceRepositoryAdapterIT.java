@@ -0,0 +1,98 @@
+package com.capitec.invoice.adapters.persistence;
+
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceFilter;
+import com.capitec.invoice.domain.model.InvoiceItem;
+import com.capitec.invoice.domain.model.InvoicePage;
+import com.capitec.invoice.domain.model.PaymentStatus;
+import com.capitec.invoice.domain.ports.InvoiceRepositoryPort;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** The JDBC read adapter answers exactly as the JPA adapter does. */
+@SpringBootTest(properties = {"invoice.persistence.read-adapter=jdbc", "spring.jpa.show-sql=false"})
+@DirtiesContext
+class JdbcInvoiceRepositoryAdapterIT {
+
+    @Autowired
+    InvoiceRepositoryPort port;
+
+    @Autowired
+    InvoiceRepositoryAdapter jpa;
+
+    @Autowired
+    InvoiceCache cache;
+
+    @Test
+    void readsMatchTheJpaAdapter() {
+        assertInstanceOf(JdbcInvoiceRepositoryAdapter.class, port);
+        for (int i = 0; i < 7; i++) {
+            Invoice inv = new Invoice();
+            inv.setInvoiceNumber("JDBC-" + i);
+            inv.setCustomerName(i % 2 == 0 ? "Even Co" : "Odd Co");
+            inv.setIssueDate(LocalDate.now().minusDays(40));
+            inv.setDueDate(LocalDate.now().minusDays(i * 5L));
+            inv.setStatus(i == 3 ? PaymentStatus.PAID : PaymentStatus.UNPAID);
+            inv.setItems(i == 6 ? List.of() : List.of(
+                    new InvoiceItem(null, "A", 1 + i, new BigDecimal("10.00")),
+                    new InvoiceItem(null, "B", 2, new BigDecimal("2.50"))));
+            port.save(inv);
+        }
+
+        Invoice viaJdbc = port.findById(2L).orElseThrow();
+        cache.evictAll();
+        assertSame(jpa.findById(2L).orElseThrow(), viaJdbc);
+        assertTrue(port.findById(999L).isEmpty());
+
+        InvoiceFilter odd = new InvoiceFilter(null, "Odd Co", null, null);
+        assertSame(jpa.findPage(odd, null, 2), port.findPage(odd, null, 2));
+        InvoicePage first = port.findPage(new InvoiceFilter(), null, 4);
+        assertSame(jpa.findPage(new InvoiceFilter(), first.getNextCursor(), 4), port.findPage(new InvoiceFilter(), first.getNextCursor(), 4));
+
+        List<Invoice> overdue = port.findOverdue(LocalDate.now());
+        List<Invoice> expected = jpa.findOverdue(LocalDate.now()).stream()
+                .sorted(Comparator.comparing(Invoice::getId)).toList();
+        assertEquals(expected.size(), overdue.size());
+        for (int i = 0; i < expected.size(); i++) assertSame(expected.get(i), overdue.get(i));
+
+        InvoiceServicePort.Summary a = jpa.summarize(LocalDate.now());
+        InvoiceServicePort.Summary b = port.summarize(LocalDate.now());
+        assertEquals(a.totalInvoices, b.totalInvoices);
+        assertEquals(a.paidCount, b.paidCount);
+        assertEquals(a.overdueCount, b.overdueCount);
+        assertEquals(0, a.totalPaid.compareTo(b.totalPaid));
+        assertEquals(0, a.totalOutstanding.compareTo(b.totalOutstanding));
+    }
+
+    private static void assertSame(InvoicePage expected, InvoicePage actual) {
+        assertEquals(expected.getNextCursor(), actual.getNextCursor());
+        assertEquals(expected.getItems().size(), actual.getItems().size());
+        for (int i = 0; i < expected.getItems().size(); i++) assertSame(expected.getItems().get(i), actual.getItems().get(i));
+    }
+
+    private static void assertSame(Invoice expected, Invoice actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getInvoiceNumber(), actual.getInvoiceNumber());
+        assertEquals(expected.getCustomerName(), actual.getCustomerName());
+        assertEquals(expected.getCustomerId(), actual.getCustomerId());
+        assertEquals(expected.getDueDate(), actual.getDueDate());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(0, expected.getTotal().compareTo(actual.getTotal()));
+        assertEquals(0, expected.getBalanceDue().compareTo(actual.getBalanceDue()));
+        assertEquals(expected.getItems().size(), actual.getItems().size());
+        for (int i = 0; i < expected.getItems().size(); i++) {
+            assertEquals(expected.getItems().get(i).getId(), actual.getItems().get(i).getId());
+            assertEquals(expected.getItems().get(i).getDescription(), actual.getItems().get(i).getDescription());
+        }
+    }
+}
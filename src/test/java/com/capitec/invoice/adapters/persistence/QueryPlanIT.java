@@ -0,0 +1,152 @@
+package com.capitec.invoice.adapters.persistence;
+
+import com.capitec.invoice.domain.model.InvoiceFilter;
+import com.capitec.invoice.domain.model.PaymentStatus;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fails when a hot query stops using an index. Each test runs a repository method, captures the
+ * SQL Hibernate actually sends through a {@link StatementInspector} and EXPLAINs it; H2 plans a
+ * statement without its bind values and marks a full scan as {@code tableScan}.
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DirtiesContext
+class QueryPlanIT {
+
+    @Autowired
+    InvoiceRepositoryAdapter adapter;
+
+    @Autowired
+    RecordingInspector inspector;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @TestConfiguration
+    static class Capture {
+        @Bean
+        RecordingInspector recordingInspector() {
+            return new RecordingInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(RecordingInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    /** Keeps the statements prepared on the thread that armed it; schedulers keep querying in the background. */
+    static class RecordingInspector implements StatementInspector {
+        private final List<String> statements = new ArrayList<>();
+        private volatile Thread recording;
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == recording) statements.add(sql);
+            return sql;
+        }
+
+        List<String> capture(Runnable action) {
+            statements.clear();
+            recording = Thread.currentThread();
+            try {
+                action.run();
+            } finally {
+                recording = null;
+            }
+            return List.copyOf(statements);
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        if (jdbc.queryForObject("select count(*) from invoices", Long.class) > 1000) return;
+        // enough spread across customers, statuses and due dates for the optimizer to prefer the indexes
+        jdbc.update("insert into invoices (id, invoice_number, customer_name, issue_date, due_date, status, amount_paid, total, balance_due)"
+                + " select x, 'PLAN-' || x, 'Customer ' || mod(x, 200), dateadd(day, -mod(x, 365) - 30, current_date),"
+                + " dateadd(day, -mod(x, 365), current_date),"
+                + " case mod(x, 4) when 0 then 'PAID' when 1 then 'UNPAID' when 2 then 'PARTIALLY_PAID' else 'OVERDUE' end, 0, 20.00, 20.00"
+                + " from system_range(1000, 4999)");
+        jdbc.update("insert into invoice_items (id, description, quantity, unit_price, invoice_id)"
+                + " select x, 'Item', 1, 10.00, 1000 + mod(x, 4000) from system_range(1000, 8999)");
+        jdbc.execute("analyze");
+    }
+
+    private void assertIndexed(List<String> statements) {
+        assertFalse(statements.isEmpty(), "no statements captured");
+        for (String sql : statements) {
+            String plan = String.join("\n", jdbc.queryForList("explain " + sql, String.class));
+            assertFalse(plan.contains("tableScan"), () -> "Full table scan in plan:\n" + plan);
+        }
+    }
+
+    private static String where(String sql) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        int at = lower.indexOf(" where ");
+        return at < 0 ? "" : lower.substring(at);
+    }
+
+    @Test
+    void findByIdJoinsItemsThroughTheIndexes() {
+        assertIndexed(inspector.capture(() -> assertTrue(adapter.findById(1234L).isPresent())));
+    }
+
+    @Test
+    void listPagesOnlyFilterOnWhatIsSet() {
+        List<String> byCustomer = inspector.capture(() -> adapter.findPage(new InvoiceFilter(null, "Customer 7", null, null), null, 50));
+        String page = where(byCustomer.get(0));
+        assertTrue(page.contains("customer_name"), page);
+        assertFalse(page.contains("status"), page);
+        assertFalse(page.contains("due_date"), page);
+        assertIndexed(byCustomer);
+
+        List<String> byStatusAndDue = inspector.capture(() -> adapter.findPage(
+                new InvoiceFilter(PaymentStatus.PAID, null, LocalDate.now().minusDays(10), null), 0L, 50));
+        String filtered = where(byStatusAndDue.get(0));
+        assertTrue(filtered.contains("status") && filtered.contains("due_date"), filtered);
+        assertFalse(filtered.contains("customer_name"), filtered);
+        assertIndexed(byStatusAndDue);
+
+        assertIndexed(inspector.capture(() -> adapter.findPage(
+                new InvoiceFilter(null, null, LocalDate.now().minusDays(5), LocalDate.now()), 0L, 50)));
+
+        String unfiltered = where(inspector.capture(() -> adapter.findPage(new InvoiceFilter(), null, 50)).get(0));
+        assertFalse(unfiltered.contains("status") || unfiltered.contains("customer_name") || unfiltered.contains("due_date"), unfiltered);
+    }
+
+    @Test
+    void exportStreamUsesTheFilterIndex() {
+        assertIndexed(inspector.capture(() -> adapter.forEach(new InvoiceFilter(null, "Customer 7", null, null), inv -> { })));
+    }
+
+    @Test
+    void overdueAndPaymentLookupsUseIndexes() {
+        assertIndexed(inspector.capture(() -> adapter.findOverdue(LocalDate.now().minusDays(360))));
+        assertIndexed(inspector.capture(() -> adapter.findPayments(2L)));
+        assertIndexed(inspector.capture(() -> adapter.findPaymentByIdempotencyKey("key-1")));
+    }
+
+    @Test
+    void overdueSweepChunkUsesTheIdRange() {
+        List<String> sweep = inspector.capture(() -> adapter.markOverdue(LocalDate.now(), 0, 1000));
+        // the customer totals update is keyed by customer id; only the invoice statements are checked here
+        assertIndexed(sweep.stream().filter(sql -> !sql.toLowerCase(Locale.ROOT).startsWith("update customers")).toList());
+    }
+}
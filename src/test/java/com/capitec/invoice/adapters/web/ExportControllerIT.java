@@ -0,0 +1,133 @@
+package com.capitec.invoice.adapters.web;
+
+import com.capitec.invoice.adapters.pdf.PdfExportService;
+import com.capitec.invoice.adapters.pdf.PdfRenderLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// retention 0 so purgeExpired() drops a job as soon as it finishes; the scheduled purge is pushed out of the way
+@SpringBootTest(properties = {"invoice.export.retention=0s", "invoice.export.cleanup-interval-ms=3600000"})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class ExportControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    PdfExportService exportService;
+
+    @Autowired
+    PdfRenderLimiter limiter;
+
+    private String start(String body) throws Exception {
+        String json = mockMvc.perform(post("/api/exports").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/api/exports/")))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("id").asText();
+    }
+
+    private JsonNode awaitState(String id, String state) throws Exception {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (true) {
+            JsonNode job = objectMapper.readTree(mockMvc.perform(get("/api/exports/" + id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (job.get("state").asText().equals(state)) return job;
+            assertTrue(System.currentTimeMillis() < deadline, "export " + id + " still " + job.get("state").asText());
+            Thread.sleep(50);
+        }
+    }
+
+    private byte[] download(String id) throws Exception {
+        return mockMvc.perform(get("/api/exports/" + id + "/file"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Test
+    void zipAndMergedExportsContainEveryInvoiceAndArePurgedAfterRetention() throws Exception {
+        String zipJob = start("{\"format\":\"zip\"}");
+        JsonNode done = awaitState(zipJob, "DONE");
+        assertEquals(3, done.get("rendered").asLong());
+        assertEquals(0, done.get("failed").asLong());
+        assertTrue(done.get("listingComplete").asBoolean());
+        assertEquals("/api/exports/" + zipJob + "/file", done.get("downloadUrl").asText());
+
+        int entries = 0;
+        int pages = 0;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(download(zipJob)))) {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; entries++) {
+                assertTrue(entry.getName().matches("invoice-INV-100[123]\\.pdf"), entry.getName());
+                try (PDDocument doc = PDDocument.load(zip.readAllBytes())) {
+                    pages += doc.getNumberOfPages();
+                }
+            }
+        }
+        assertEquals(3, entries);
+
+        String pdfJob = start("{\"format\":\"pdf\"}");
+        awaitState(pdfJob, "DONE");
+        try (PDDocument merged = PDDocument.load(download(pdfJob))) {
+            assertEquals(pages, merged.getNumberOfPages());
+        }
+
+        Path file = exportService.find(zipJob).orElseThrow().getFile();
+        assertTrue(Files.exists(file));
+        exportService.purgeExpired();
+        mockMvc.perform(get("/api/exports/" + zipJob)).andExpect(status().isNotFound());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void unfinishedJobsRefuseDownloadAndCancelStopsThem() throws Exception {
+        // hold every render slot so the job's workers queue behind them
+        int slots = limiter.available();
+        for (int i = 0; i < slots; i++) limiter.acquire();
+        String id;
+        try {
+            id = start("{\"ids\":[1,2,3],\"format\":\"zip\"}");
+            mockMvc.perform(get("/api/exports/" + id + "/file")).andExpect(status().isConflict());
+
+            mockMvc.perform(delete("/api/exports/" + id))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.downloadUrl").value(nullValue()));
+        } finally {
+            for (int i = 0; i < slots; i++) limiter.release();
+        }
+
+        JsonNode cancelled = awaitState(id, "CANCELLED");
+        assertTrue(cancelled.get("rendered").asLong() < 3);
+        mockMvc.perform(get("/api/exports/" + id + "/file")).andExpect(status().isConflict());
+        mockMvc.perform(delete("/api/exports/no-such-job")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void unknownFormatIsRejected() throws Exception {
+        mockMvc.perform(post("/api/exports").contentType(MediaType.APPLICATION_JSON).content("{\"format\":\"tar\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
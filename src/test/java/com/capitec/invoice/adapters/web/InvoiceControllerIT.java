@@ -1,5 +1,9 @@
 package com.capitec.invoice.adapters.web;
 
+import com.capitec.invoice.adapters.pdf.PdfRenderLimiter;
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,8 +12,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -24,12 +35,57 @@ class InvoiceControllerIT {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    InvoiceServicePort service;
+
+    @Autowired
+    PdfRenderLimiter pdfRenderLimiter;
+
     @Test
     void list_returnsSeededInvoices() throws Exception {
         mockMvc.perform(get("/api/invoices"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(3)))
-                .andExpect(jsonPath("$[0].invoiceNumber", not(emptyString())));
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[0].invoiceNumber", not(emptyString())))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void list_pagesWithCursorAndFilters() throws Exception {
+        mockMvc.perform(get("/api/invoices").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor", is(2)));
+
+        mockMvc.perform(get("/api/invoices").param("limit", "2").param("cursor", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(3)))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+
+        mockMvc.perform(get("/api/invoices").param("customer", "Globex Inc"))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].invoiceNumber", is("INV-1002")));
+
+        mockMvc.perform(get("/api/invoices").param("dueFrom", "2025-09-01").param("dueTo", "2025-09-30"))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].invoiceNumber", is("INV-1001")));
+    }
+
+    @Test
+    void readEndpoints_writeTheSameJsonAsTheDto() throws Exception {
+        Invoice inv = service.get(2L).orElseThrow();
+        JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsString(InvoiceDtoMapper.toDto(inv)));
+
+        String single = mockMvc.perform(get("/api/invoices/2"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(expected, objectMapper.readTree(single));
+
+        String page = mockMvc.perform(get("/api/invoices").param("customer", "Globex Inc"))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(expected, objectMapper.readTree(page).get("items").get(0));
+        assertTrue(objectMapper.readTree(page).get("nextCursor").isNull());
     }
 
     @Test
@@ -43,6 +99,97 @@ class InvoiceControllerIT {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void search_ranksSeededInvoicesAndFollowsWrites() throws Exception {
+        mockMvc.perform(get("/api/invoices/search").param("q", "acme consultng"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(1)))
+                .andExpect(jsonPath("$.hits[0].invoiceNumber", is("INV-1001")));
+        mockMvc.perform(get("/api/invoices/search").param("q", "inv-100").param("limit", "2"))
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.hits", hasSize(2)));
+        mockMvc.perform(get("/api/invoices/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/invoices/search").param("q", "inv").param("offset", "2147483647"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/invoices").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"invoiceNumber\":\"INV-7001\",\"customerName\":\"Initech\",\"issueDate\":\"2025-10-01\","
+                                + "\"dueDate\":\"2099-10-31\",\"items\":[{\"description\":\"Printer repair\",\"quantity\":1,\"unitPrice\":80.00}]}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/invoices/search").param("q", "printer"))
+                .andExpect(jsonPath("$.hits[0].customerName", is("Initech")));
+
+        mockMvc.perform(delete("/api/invoices/3")).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/invoices/search").param("q", "soylent"))
+                .andExpect(jsonPath("$.total", is(0)));
+    }
+
+    @Test
+    void customerSummary_followsInvoiceWrites() throws Exception {
+        mockMvc.perform(get("/api/customers/2/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Globex Inc")))
+                .andExpect(jsonPath("$.invoiceCount", is(1)))
+                .andExpect(jsonPath("$.totalPaid", is(150.0)))
+                .andExpect(jsonPath("$.outstanding", is(600.0)));
+
+        mockMvc.perform(post("/api/invoices").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"invoiceNumber\":\"INV-7002\",\"customerName\":\"Globex Inc\",\"issueDate\":\"2025-10-01\","
+                                + "\"dueDate\":\"2099-10-31\",\"items\":[{\"description\":\"Support\",\"quantity\":1,\"unitPrice\":100.00}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.customerId", is(2)));
+        mockMvc.perform(post("/api/invoices/2/pay").contentType(MediaType.APPLICATION_JSON).content("{\"amount\":100.00}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/customers").param("name", "Globex Inc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(2)))
+                .andExpect(jsonPath("$.invoiceCount", is(2)))
+                .andExpect(jsonPath("$.totalPaid", is(250.0)))
+                .andExpect(jsonPath("$.outstanding", is(600.0)));
+
+        mockMvc.perform(get("/api/customers/999/summary")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/customers").param("name", "Nobody")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void agingReport_bucketsSeededBalancesAndFollowsPayments() throws Exception {
+        mockMvc.perform(get("/api/reports/aging").param("asOf", "2025-10-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.asOf", is("2025-10-31")))
+                .andExpect(jsonPath("$.rows[*].customerName", contains("Acme Corp", "Globex Inc", "Soylent Co")))
+                .andExpect(jsonPath("$.rows[0].days31To60", is(1250.0)))  // 31 days past due
+                .andExpect(jsonPath("$.rows[1].days0To30", is(600.0)))    // 26 days
+                .andExpect(jsonPath("$.rows[2].days61To90", is(300.0)))   // 77 days
+                .andExpect(jsonPath("$.totals.invoiceCount", is(3)))
+                .andExpect(jsonPath("$.totals.outstanding", is(2150.0)));
+
+        mockMvc.perform(get("/api/reports/aging").param("asOf", "2025-09-01"))
+                .andExpect(jsonPath("$.totals.notDue", is(1850.0)))
+                .andExpect(jsonPath("$.totals.days0To30", is(300.0)));
+
+        mockMvc.perform(post("/api/invoices/1/pay").contentType(MediaType.APPLICATION_JSON).content("{\"amount\":50.00}"))
+                .andExpect(status().isOk());
+
+        MvcResult csv = mockMvc.perform(get("/api/reports/aging").param("asOf", "2025-10-31").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals("customerId,customerName,invoiceCount,notDue,days0To30,days31To60,days61To90,over90,outstanding", lines[0]);
+        String[] acme = lines[1].split(",");
+        assertEquals("Acme Corp", acme[1]);
+        assertEquals(0, new BigDecimal("1200.00").compareTo(new BigDecimal(acme[5]))); // days31To60, after the payment
+        assertEquals(0, new BigDecimal("1200.00").compareTo(new BigDecimal(acme[8])));
+        assertTrue(lines[4].startsWith(",TOTAL,3,"));
+
+        mockMvc.perform(get("/api/reports/aging").param("format", "xml")).andExpect(status().isBadRequest());
+    }
+
     @Test
     void create_update_pay_and_delete_flow() throws Exception {
         // create
@@ -92,6 +239,203 @@ class InvoiceControllerIT {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void batchCreate_reportsResultPerInvoice() throws Exception {
+        String batch = "[" +
+                "{\"invoiceNumber\":\"INV-B1\",\"customerName\":\"Batch Co\",\"issueDate\":\"2025-10-01\",\"dueDate\":\"2025-10-31\"," +
+                " \"items\":[{\"description\":\"Service\",\"quantity\":1,\"unitPrice\":10.00}]}," +
+                "{\"invoiceNumber\":\"INV-B2\",\"customerName\":\"\",\"issueDate\":\"2025-10-01\",\"dueDate\":\"2025-10-31\"}," +
+                "{\"invoiceNumber\":\"INV-1001\",\"customerName\":\"Dup Co\",\"issueDate\":\"2025-10-01\",\"dueDate\":\"2025-10-31\"}," +
+                "{\"invoiceNumber\":\"INV-B3\",\"customerName\":\"Batch Co\",\"issueDate\":\"2025-10-01\",\"dueDate\":\"2025-10-31\"}" +
+                "]";
+
+        mockMvc.perform(post("/api/invoices/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.rejected", is(2)))
+                .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.results[0].id", notNullValue()))
+                .andExpect(jsonPath("$.results[1].errors[0]", startsWith("customerName")))
+                .andExpect(jsonPath("$.results[2].errors[0]", containsString("Duplicate")))
+                .andExpect(jsonPath("$.results[3].status", is("CREATED")));
+
+        mockMvc.perform(get("/api/summary"))
+                .andExpect(jsonPath("$.totalInvoices", is(5)));
+    }
+
+    @Test
+    void importCsv_groupsRowsReportsRejectionsAndResumes() throws Exception {
+        String csv = "invoiceNumber,customerName,issueDate,dueDate,amountPaid,description,quantity,unitPrice\n" +
+                "IMP-1,Import Co,2030-01-01,2030-02-01,,Widget,2,10.00\n" +
+                "IMP-1,Import Co,2030-01-01,2030-02-01,,\"Gadget, large\",1,5.00\n" +
+                "IMP-2,,2030-01-01,2030-02-01,,Bolt,1,1.00\n" +
+                "IMP-3,Import Co,2030-01-01,not-a-date,,Nut,3,2.50\n" +
+                "INV-1001,Import Co,2030-01-01,2030-02-01,,Widget,1,1.00\n";
+
+        mockMvc.perform(post("/api/imports").param("importId", "it-1")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complete", is(true)))
+                .andExpect(jsonPath("$.rowsRead", is(5)))
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.rejected", is(3)))
+                .andExpect(jsonPath("$.lastCommittedRow", is(5)))
+                .andExpect(jsonPath("$.rejections[0].row", is(3)))
+                .andExpect(jsonPath("$.rejections[0].errors[0]", startsWith("customerName")))
+                .andExpect(jsonPath("$.rejections[1].errors[0]", startsWith("dueDate")))
+                .andExpect(jsonPath("$.rejections[2].errors[0]", containsString("Duplicate")));
+
+        mockMvc.perform(get("/api/invoices").param("customer", "Import Co"))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].items[1].description", is("Gadget, large")));
+
+        // same input again: everything up to the checkpoint is skipped
+        mockMvc.perform(post("/api/imports").param("importId", "it-1")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resumedFromRow", is(5)))
+                .andExpect(jsonPath("$.rowsSkipped", is(5)))
+                .andExpect(jsonPath("$.created", is(0)))
+                .andExpect(jsonPath("$.rejected", is(0)));
+    }
+
+    @Test
+    void importNdjson_createsValidLinesAndRejectsMalformedOnes() throws Exception {
+        String ndjson = "{\"invoiceNumber\":\"IMP-J1\",\"customerName\":\"Json Co\",\"issueDate\":\"2030-01-01\",\"dueDate\":\"2030-02-01\"," +
+                "\"items\":[{\"description\":\"Service\",\"quantity\":1,\"unitPrice\":10.00}]}\n" +
+                "\n" +
+                "{\"invoiceNumber\":\"IMP-J2\",\n";
+
+        mockMvc.perform(post("/api/imports")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importId", not(emptyString())))
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.rejections[0].row", is(3)))
+                .andExpect(jsonPath("$.rejections[0].errors[0]", startsWith("Malformed JSON")));
+
+        mockMvc.perform(post("/api/imports")
+                        .contentType("text/csv")
+                        .content("invoiceNumber,customerName\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void ledgerExport_streamsFilteredNdjsonAndGzippedCsv() throws Exception {
+        MvcResult ndjson = mockMvc.perform(get("/api/invoices/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String lines = mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] invoices = lines.split("\n");
+        assertEquals(3, invoices.length);
+        assertEquals("INV-1001", objectMapper.readTree(invoices[0]).get("invoiceNumber").asText());
+
+        MvcResult csv = mockMvc.perform(get("/api/invoices/export").param("format", "csv")
+                        .param("customer", "Acme Corp").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] gzipped = mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        String rows;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            rows = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        // header plus one row per line item of INV-1001
+        String[] csvLines = rows.split("\n");
+        assertEquals(3, csvLines.length);
+        assertTrue(csvLines[0].startsWith("id,invoiceNumber,customerName"));
+        assertTrue(csvLines[1].startsWith("1,INV-1001,Acme Corp,2025-09-15,2025-09-30,"));
+        assertTrue(rows.contains(",Maintenance,5,50.00\n"));
+    }
+
+    @Test
+    void pay_withIdempotencyKeyIsAppliedOnce() throws Exception {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/invoices/1/pay")
+                            .header("Idempotency-Key", "bank-cb-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"amount\": 100}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.amountPaid", is(100.0)));
+        }
+        mockMvc.perform(post("/api/invoices/2/pay")
+                        .header("Idempotency-Key", "bank-cb-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 100}"))
+                .andExpect(status().isUnprocessableEntity());
+
+        mockMvc.perform(get("/api/invoices/1/payments"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].idempotencyKey", is("bank-cb-1")));
+
+        mockMvc.perform(delete("/api/invoices/1")).andExpect(status().isNoContent());
+        mockMvc.perform(post("/api/invoices/1/pay")
+                        .header("Idempotency-Key", "bank-cb-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 100}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void pay_rejectsAmountsThatAreNotPositive() throws Exception {
+        for (String amount : new String[] {"0", "-10.00", "null"}) {
+            mockMvc.perform(post("/api/invoices/1/pay")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"amount\": " + amount + "}"))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(get("/api/invoices/1/payments"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void paymentBatch_appliesPerInvoiceAndSkipsDuplicates() throws Exception {
+        String batch = "[" +
+                "{\"invoiceId\":1,\"amount\":1000.00,\"idempotencyKey\":\"s-1\"}," +
+                "{\"invoiceId\":1,\"amount\":250.00,\"idempotencyKey\":\"s-2\"}," +
+                "{\"invoiceId\":2,\"amount\":100.00,\"idempotencyKey\":\"s-1\"}," +
+                "{\"invoiceId\":9999,\"amount\":5.00}," +
+                "{\"invoiceId\":3,\"amount\":50.00}" +
+                "]";
+
+        mockMvc.perform(post("/api/payments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied", is(3)))
+                .andExpect(jsonPath("$.duplicates", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.results[2].status", is("DUPLICATE")))
+                .andExpect(jsonPath("$.results[3].status", is("REJECTED")));
+
+        mockMvc.perform(get("/api/invoices/1"))
+                .andExpect(jsonPath("$.amountPaid", is(1250.0)))
+                .andExpect(jsonPath("$.status", is("PAID")));
+        mockMvc.perform(get("/api/invoices/3"))
+                .andExpect(jsonPath("$.amountPaid", is(50.0)));
+        mockMvc.perform(get("/api/summary"))
+                .andExpect(jsonPath("$.paidCount", is(1)))
+                .andExpect(jsonPath("$.totalPaid", is(1450.0)));
+
+        // resubmitting the statement applies nothing
+        mockMvc.perform(post("/api/payments/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"invoiceId\":1,\"amount\":1000.00,\"idempotencyKey\":\"s-1\"}]"))
+                .andExpect(jsonPath("$.duplicates", is(1)));
+    }
+
     @Test
     void overdue_and_summary_endpoints() throws Exception {
         mockMvc.perform(get("/api/invoices/overdue"))
@@ -101,7 +445,41 @@ class InvoiceControllerIT {
         mockMvc.perform(get("/api/summary"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalInvoices", is(3)))
-                .andExpect(jsonPath("$.totalOutstanding", greaterThanOrEqualTo(0.0)));
+                .andExpect(jsonPath("$.paidCount", is(0)))
+                .andExpect(jsonPath("$.unpaidCount", is(3)))
+                // seed totals 1250 + 750 + 300, less 150 paid on INV-1002
+                .andExpect(jsonPath("$.totalOutstanding", is(2150.0)))
+                .andExpect(jsonPath("$.totalPaid", is(150.0)));
+    }
+
+    @Test
+    void pdf_streamsAndRevalidatesWithEtag() throws Exception {
+        int permits = pdfRenderLimiter.available();
+        MvcResult rendering = mockMvc.perform(get("/api/invoices/1/pdf"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String etag = mockMvc.perform(asyncDispatch(rendering))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(content().string(startsWith("%PDF")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/invoices/1/pdf").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/invoices/1/pay")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 10}"))
+                .andExpect(status().isOk());
+
+        MvcResult changed = mockMvc.perform(get("/api/invoices/1/pdf").header("If-None-Match", etag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(changed))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+        assertEquals(permits, pdfRenderLimiter.available()); // each render returned its permit, once
     }
 
 }
@@ -0,0 +1,127 @@
+package com.capitec.invoice.application;
+
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceItem;
+import com.capitec.invoice.domain.model.SearchHit;
+import com.capitec.invoice.domain.model.SearchResult;
+import com.capitec.invoice.domain.ports.InvoiceRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InvoiceSearchIndexTests {
+
+    private InvoiceRepositoryPort repository;
+    private InvoiceSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(InvoiceRepositoryPort.class);
+        index = new InvoiceSearchIndex(repository);
+        index.indexAll(List.of(
+                invoice(1L, "INV-1001", "Acme Corp", "Consulting Services", "Maintenance"),
+                invoice(2L, "INV-1002", "Globex Inc", "Software License"),
+                invoice(3L, "INV-2001", "Soylent Co", "Acme anvil subscription")));
+    }
+
+    private static Invoice invoice(Long id, String number, String customer, String... items) {
+        Invoice inv = new Invoice(id);
+        inv.setInvoiceNumber(number);
+        inv.setCustomerName(customer);
+        List<InvoiceItem> lines = new ArrayList<>();
+        for (String d : items) lines.add(new InvoiceItem(null, d, 1, BigDecimal.TEN));
+        inv.setItems(lines);
+        return inv;
+    }
+
+    private List<Long> ids(SearchResult result) {
+        return result.getHits().stream().map(SearchHit::getId).toList();
+    }
+
+    @Test
+    void matchesInvoiceNumbersWithOrWithoutSeparatorsAndByPrefix() {
+        assertEquals(List.of(1L), ids(index.search("INV-1001", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("inv1001", 0, 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("inv-100", 0, 10)));
+    }
+
+    @Test
+    void everyTermMustMatchAndCustomerOutranksItems() {
+        SearchResult acme = index.search("acme", 0, 10);
+        assertEquals(List.of(1L, 3L), ids(acme));
+        assertTrue(acme.getHits().get(0).getScore() > acme.getHits().get(1).getScore());
+        assertEquals(List.of(3L), ids(index.search("acme anv", 0, 10)));
+        assertEquals(0, index.search("acme software", 0, 10).getTotal());
+    }
+
+    @Test
+    void toleratesTyposInWords() {
+        assertEquals(List.of(2L), ids(index.search("softwear", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("maintenence", 0, 10)));
+        assertEquals(0, index.search("zzzz", 0, 10).getTotal());
+    }
+
+    @Test
+    void pagesRankedResults() {
+        SearchResult first = index.search("inv", 0, 2);
+        assertEquals(3, first.getTotal());
+        assertEquals(2, first.getHits().size());
+        SearchResult rest = index.search("inv", 2, 2);
+        assertEquals(1, rest.getHits().size());
+        assertFalse(ids(first).contains(rest.getHits().get(0).getId()));
+        SearchResult past = index.search("inv", Integer.MAX_VALUE, 100);
+        assertEquals(3, past.getTotal());
+        assertTrue(past.getHits().isEmpty());
+    }
+
+    @Test
+    void updatesReplaceAndDeletesRemove() {
+        index.index(invoice(2L, "INV-1002", "Initech", "Software License"));
+        assertEquals(0, index.search("globex", 0, 10).getTotal());
+        assertEquals(List.of(2L), ids(index.search("initech", 0, 10)));
+
+        index.remove(2L);
+        assertEquals(0, index.search("initech", 0, 10).getTotal());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void survivesCompaction() {
+        for (int round = 0; round < 3000; round++) {
+            index.index(invoice(1L, "INV-1001", "Acme Corp " + round, "Consulting"));
+        }
+        assertEquals(3, index.size());
+        assertEquals(List.of(1L), ids(index.search("acme 2999", 0, 10)));
+        assertEquals(1, index.search("globex", 0, 10).getTotal());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildReloadsFromTheRepository() {
+        doAnswer(a -> {
+            ((Consumer<Invoice>) a.getArgument(1)).accept(invoice(7L, "INV-7", "Umbrella", "Vaccine"));
+            return null;
+        }).when(repository).forEach(any(), any());
+
+        index.rebuild();
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(7L), ids(index.search("umbrella", 0, 10)));
+        assertEquals(0, index.search("acme", 0, 10).getTotal());
+    }
+
+    @Test
+    void editDistanceStopsPastTheLimit() {
+        assertEquals(1, InvoiceSearchIndex.editDistance("acme", "acne", 2));
+        assertEquals(2, InvoiceSearchIndex.editDistance("software", "softwear", 2));
+        assertEquals(2, InvoiceSearchIndex.editDistance("globex", "initech", 1));
+    }
+}
@@ -1,17 +1,27 @@
 package com.capitec.invoice.application;
 
+import com.capitec.invoice.domain.model.AgingReport;
+import com.capitec.invoice.domain.model.AgingRow;
 import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.model.InvoiceFilter;
 import com.capitec.invoice.domain.model.InvoiceItem;
+import com.capitec.invoice.domain.model.InvoicePage;
+import com.capitec.invoice.domain.model.Payment;
+import com.capitec.invoice.domain.model.PaymentResult;
 import com.capitec.invoice.domain.model.PaymentStatus;
+import com.capitec.invoice.domain.ports.CustomerRepositoryPort;
 import com.capitec.invoice.domain.ports.InvoiceRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,7 +34,8 @@ class InvoiceServiceTests {
     @BeforeEach
     void setup() {
         repository = mock(InvoiceRepositoryPort.class);
-        service = new InvoiceService(repository);
+        service = new InvoiceService(repository, mock(CustomerRepositoryPort.class), new SummaryProjection(repository),
+                new InvoiceSearchIndex(repository), new AgingReportCache(32, Duration.ofMinutes(5)));
     }
 
     private Invoice sampleInvoice() {
@@ -33,11 +44,7 @@ class InvoiceServiceTests {
         inv.setCustomerName("Acme");
         inv.setIssueDate(LocalDate.now().minusDays(10));
         inv.setDueDate(LocalDate.now().minusDays(1));
-        InvoiceItem item = new InvoiceItem();
-        item.setDescription("Thing");
-        item.setQuantity(2);
-        item.setUnitPrice(new BigDecimal("10.00"));
-        inv.setItems(List.of(item));
+        inv.setItems(List.of(new InvoiceItem(null, "Thing", 2, new BigDecimal("10.00"))));
         return inv;
     }
 
@@ -69,23 +76,130 @@ class InvoiceServiceTests {
         assertEquals(PaymentStatus.PAID, saved.getStatus());
     }
 
+    /** Stands in for the database: payments increment the stored invoice, reads return copies. */
+    private void stubPayments(Invoice stored) {
+        when(repository.findById(stored.getId())).thenAnswer(a -> Optional.of(copy(stored)));
+        when(repository.addPayment(any(Payment.class))).thenAnswer(a -> {
+            Payment payment = a.getArgument(0);
+            BigDecimal paid = stored.getAmountPaid() == null ? BigDecimal.ZERO : stored.getAmountPaid();
+            stored.setAmountPaid(paid.add(payment.getAmount()));
+            return Optional.of(copy(stored));
+        });
+        when(repository.updateStatus(eq(stored.getId()), any(), any())).thenAnswer(a -> {
+            stored.setStatus(a.getArgument(1));
+            return true;
+        });
+    }
+
+    private static Invoice copy(Invoice inv) {
+        Invoice c = new Invoice(inv.getId());
+        c.setInvoiceNumber(inv.getInvoiceNumber());
+        c.setCustomerName(inv.getCustomerName());
+        c.setIssueDate(inv.getIssueDate());
+        c.setDueDate(inv.getDueDate());
+        c.setStatus(inv.getStatus());
+        c.setAmountPaid(inv.getAmountPaid());
+        c.setItems(inv.getItems());
+        return c;
+    }
+
     @Test
     void recordPayment_addsToExistingAmountAndUpdatesStatus() {
         Invoice inv = sampleInvoice();
         inv.setId(5L);
+        inv.setStatus(PaymentStatus.PARTIALLY_PAID);
         inv.setAmountPaid(new BigDecimal("5.00")); // subtotal 20.00
         inv.setDueDate(LocalDate.now().plusDays(5)); // not overdue
-        when(repository.findById(5L)).thenReturn(Optional.of(inv));
-        when(repository.save(any())).thenAnswer(a -> a.getArgument(0));
+        stubPayments(inv);
 
         Invoice saved = service.recordPayment(5L, new BigDecimal("5.00"));
         assertEquals(new BigDecimal("10.00"), saved.getAmountPaid());
         assertEquals(PaymentStatus.PARTIALLY_PAID, saved.getStatus());
+        verify(repository, never()).updateStatus(any(), any(), any());
 
         // Pay remaining
         saved = service.recordPayment(5L, new BigDecimal("10.00"));
         assertEquals(new BigDecimal("20.00"), saved.getAmountPaid());
         assertEquals(PaymentStatus.PAID, saved.getStatus());
+        verify(repository).updateStatus(5L, PaymentStatus.PAID, new BigDecimal("20.00"));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void recordPayment_rereadsWhenStatusWriteLosesToNewerPayment() {
+        Invoice inv = sampleInvoice();
+        inv.setId(6L);
+        inv.setStatus(PaymentStatus.UNPAID);
+        inv.setAmountPaid(BigDecimal.ZERO);
+        inv.setDueDate(LocalDate.now().plusDays(5));
+        stubPayments(inv);
+        doAnswer(a -> {
+            // another instance paid the rest first and marked the invoice paid
+            inv.setAmountPaid(new BigDecimal("20.00"));
+            inv.setStatus(PaymentStatus.PAID);
+            return false;
+        }).when(repository).updateStatus(eq(6L), any(), any());
+
+        Invoice saved = service.recordPayment(6L, new BigDecimal("5.00"));
+        assertEquals(PaymentStatus.PAID, saved.getStatus());
+        assertEquals(new BigDecimal("20.00"), saved.getAmountPaid());
+    }
+
+    @Test
+    void recordPayment_replaysKnownIdempotencyKeyWithoutApplying() {
+        Invoice inv = sampleInvoice();
+        inv.setId(7L);
+        inv.setAmountPaid(new BigDecimal("5.00"));
+        stubPayments(inv);
+        Payment first = new Payment(7L, new BigDecimal("5.00"), "cb-1");
+        first.setId(70L);
+        when(repository.findPaymentByIdempotencyKey("cb-1")).thenReturn(Optional.of(first));
+
+        PaymentResult replay = service.recordPayment(new Payment(7L, new BigDecimal("5.00"), "cb-1"));
+        assertEquals(PaymentResult.Status.DUPLICATE, replay.getStatus());
+        assertEquals(70L, replay.getPayment().getId());
+        assertEquals(new BigDecimal("5.00"), replay.getInvoice().getAmountPaid());
+
+        PaymentResult misused = service.recordPayment(new Payment(8L, new BigDecimal("5.00"), "cb-1"));
+        assertEquals(PaymentResult.Status.REJECTED, misused.getStatus());
+        verify(repository, never()).addPayment(any());
+    }
+
+    @Test
+    void recordPayment_rejectsAmountsThatAreNotPositive() {
+        for (BigDecimal amount : Arrays.asList(null, BigDecimal.ZERO, new BigDecimal("-5.00"))) {
+            PaymentResult result = service.recordPayment(new Payment(7L, amount, null));
+            assertEquals(PaymentResult.Status.REJECTED, result.getStatus());
+            assertEquals("amount must be greater than 0", result.getError());
+        }
+        verify(repository, never()).addPayment(any());
+    }
+
+    @Test
+    void recordPayments_appliesChunkWithOneBulkUpdateAndRecomputesStatus() {
+        Invoice inv = sampleInvoice(); // 20.00 due yesterday
+        inv.setId(3L);
+        inv.setStatus(PaymentStatus.OVERDUE);
+        inv.setAmountPaid(new BigDecimal("20.00")); // as returned after the bulk update
+        when(repository.findExistingIds(any())).thenReturn(Set.of(3L));
+        when(repository.findExistingIdempotencyKeys(any())).thenReturn(Set.of("old"));
+        when(repository.applyPayments(any())).thenReturn(List.of(inv));
+        when(repository.updateStatuses(any())).thenReturn(Set.of());
+
+        List<PaymentResult> results = service.recordPayments(List.of(
+                new Payment(3L, new BigDecimal("15.00"), "a"),
+                new Payment(3L, new BigDecimal("5.00"), "b"),
+                new Payment(3L, new BigDecimal("5.00"), "a"),
+                new Payment(3L, new BigDecimal("5.00"), "old"),
+                new Payment(4L, new BigDecimal("5.00"), null),
+                new Payment(3L, new BigDecimal("-1.00"), null)));
+
+        assertEquals(List.of(PaymentResult.Status.APPLIED, PaymentResult.Status.APPLIED, PaymentResult.Status.DUPLICATE,
+                        PaymentResult.Status.DUPLICATE, PaymentResult.Status.REJECTED, PaymentResult.Status.REJECTED),
+                results.stream().map(PaymentResult::getStatus).toList());
+        verify(repository, times(1)).applyPayments(argThat(batch -> batch.size() == 2));
+        verify(repository).updateStatuses(argThat(changed -> changed.size() == 1 && changed.get(0).getStatus() == PaymentStatus.PAID));
+        assertEquals(PaymentStatus.PAID, results.get(0).getInvoice().getStatus());
     }
 
     @Test
@@ -98,27 +212,110 @@ class InvoiceServiceTests {
     }
 
     @Test
-    void summary_computesAggregates() {
-        Invoice a = sampleInvoice();
-        a.setId(1L);
-        a.setStatus(PaymentStatus.UNPAID);
-        Invoice b = sampleInvoice();
-        b.setId(2L);
-        b.setStatus(PaymentStatus.PAID);
-        b.setAmountPaid(new BigDecimal("20.00"));
-        Invoice c = sampleInvoice();
-        c.setId(3L);
-        c.setStatus(PaymentStatus.PARTIALLY_PAID);
-        c.setAmountPaid(new BigDecimal("5.00"));
-
-        when(repository.findAll()).thenReturn(List.of(a, b, c));
+    void list_defaultsFilterAndClampsPageSize() {
+        when(repository.findPage(any(), any(), anyInt())).thenReturn(new InvoicePage(List.of(), null));
+
+        service.list(null, null, 0);
+        verify(repository).findPage(any(InvoiceFilter.class), isNull(), eq(InvoiceService.DEFAULT_PAGE_SIZE));
+
+        service.list(new InvoiceFilter(), 10L, 100_000);
+        verify(repository).findPage(any(InvoiceFilter.class), eq(10L), eq(InvoiceService.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void summary_usesRepositoryAggregateAndDerivesUnpaid() {
+        InvoiceService.Summary row = new InvoiceService.Summary();
+        row.totalInvoices = 3;
+        row.paidCount = 1;
+        row.overdueCount = 2;
+        row.totalOutstanding = new BigDecimal("35.00");
+        row.totalPaid = new BigDecimal("25.00");
+        when(repository.summarize(any())).thenReturn(row);
 
         InvoiceService.Summary s = service.summary();
         assertEquals(3, s.totalInvoices);
         assertEquals(1, s.paidCount);
         assertEquals(2, s.unpaidCount); // includes PARTIALLY_PAID in unpaid bucket per implementation
-        assertTrue(s.overdueCount >= 0); // depends on today
-        assertEquals(new BigDecimal("35.00"), s.totalOutstanding); // (20-0)+(20-20)+(20-5)=35
+        assertEquals(2, s.overdueCount);
+        assertEquals(new BigDecimal("35.00"), s.totalOutstanding);
         assertEquals(new BigDecimal("25.00"), s.totalPaid);
+        verify(repository).summarize(LocalDate.now());
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void summary_appliesWriteDeltasWithoutRequerying() {
+        InvoiceService.Summary row = new InvoiceService.Summary();
+        row.totalOutstanding = BigDecimal.ZERO;
+        row.totalPaid = BigDecimal.ZERO;
+        when(repository.summarize(any())).thenReturn(row);
+        when(repository.save(any())).thenAnswer(a -> {
+            Invoice i = a.getArgument(0);
+            i.setId(9L);
+            return i;
+        });
+        service.summary();
+
+        Invoice inv = sampleInvoice(); // 20.00 due yesterday
+        service.create(inv);
+        stubPayments(inv);
+        service.recordPayment(9L, new BigDecimal("5.00"));
+
+        InvoiceService.Summary s = service.summary();
+        assertEquals(1, s.totalInvoices);
+        assertEquals(0, s.paidCount);
+        assertEquals(1, s.overdueCount);
+        assertEquals(0, new BigDecimal("15.00").compareTo(s.totalOutstanding));
+        assertEquals(0, new BigDecimal("5.00").compareTo(s.totalPaid));
+        verify(repository, times(1)).summarize(any());
+    }
+
+    @Test
+    void summary_installsARecomputeThatWritesRacedWith() {
+        InvoiceService.Summary row = new InvoiceService.Summary();
+        row.totalInvoices = 3;
+        row.paidCount = 1;
+        row.totalOutstanding = new BigDecimal("35.00");
+        row.totalPaid = new BigDecimal("25.00");
+        when(repository.save(any())).thenAnswer(a -> {
+            Invoice i = a.getArgument(0);
+            i.setId(9L);
+            return i;
+        });
+        // a write lands while the aggregate query runs, after its snapshot
+        when(repository.summarize(any())).thenAnswer(a -> {
+            service.create(sampleInvoice());
+            return row;
+        });
+
+        InvoiceService.Summary s = service.summary();
+        assertEquals(4, s.totalInvoices);
+        assertEquals(1, s.overdueCount);
+        assertEquals(0, new BigDecimal("55.00").compareTo(s.totalOutstanding));
+
+        assertEquals(4, service.summary().totalInvoices);
+        verify(repository, times(1)).summarize(any());
+    }
+
+    @Test
+    void agingReport_isCachedPerDateUntilAWrite() {
+        LocalDate asOf = LocalDate.of(2025, 10, 31);
+        when(repository.aging(any())).thenReturn(List.of(
+                new AgingRow(1L, "Acme", 2, BigDecimal.ZERO, new BigDecimal("10.00"), BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("5.00")),
+                new AgingRow(2L, "Globex", 1, new BigDecimal("7.00"), BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO)));
+        when(repository.save(any())).thenAnswer(a -> a.getArgument(0));
+
+        AgingReport report = service.agingReport(asOf);
+        assertEquals(3, report.getTotals().getInvoiceCount());
+        assertEquals(0, new BigDecimal("22.00").compareTo(report.getTotals().getOutstanding()));
+        assertSame(report, service.agingReport(asOf));
+        verify(repository, times(1)).aging(asOf);
+
+        service.agingReport(asOf.minusDays(1));
+        verify(repository, times(1)).aging(asOf.minusDays(1));
+
+        service.create(sampleInvoice());
+        assertNotSame(report, service.agingReport(asOf));
+        verify(repository, times(2)).aging(asOf);
     }
 }
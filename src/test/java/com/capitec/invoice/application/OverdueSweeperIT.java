@@ -0,0 +1,82 @@
+package com.capitec.invoice.application;
+
+import com.capitec.invoice.domain.model.PaymentStatus;
+import com.capitec.invoice.domain.ports.InvoiceRepositoryPort;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import com.capitec.invoice.domain.ports.LeaderLockPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DirtiesContext
+class OverdueSweeperIT {
+
+    @Autowired
+    OverdueSweeper sweeper;
+    @Autowired
+    LeaderLockPort lock;
+    @Autowired
+    InvoiceServicePort service;
+    @Autowired
+    MeterRegistry meters;
+
+    @Test
+    void sweep_marksUnpaidInvoicesPastDueOnceAndOnlyOnTheLeader() {
+        LocalDate today = LocalDate.of(2025, 10, 10);
+        // warm the cache so the sweep has to evict
+        assertEquals(PaymentStatus.UNPAID, service.get(1L).orElseThrow().getStatus());
+
+        assertTrue(lock.tryAcquire(OverdueSweeper.LOCK_NAME, "other-node", Duration.ofMinutes(5)));
+        assertEquals(-1, sweeper.sweep(today));
+        assertEquals(PaymentStatus.UNPAID, service.get(1L).orElseThrow().getStatus());
+        lock.release(OverdueSweeper.LOCK_NAME, "other-node");
+
+        assertEquals(2, sweeper.sweep(today));
+        assertEquals(PaymentStatus.OVERDUE, service.get(1L).orElseThrow().getStatus());
+        assertEquals(PaymentStatus.OVERDUE, service.get(2L).orElseThrow().getStatus());
+        assertEquals(PaymentStatus.OVERDUE, service.get(3L).orElseThrow().getStatus());
+
+        assertEquals(0, sweeper.sweep(today));
+        assertEquals(2.0, meters.get("invoice.overdue.sweep.transitions").counter().count());
+        assertEquals(2, meters.get("invoice.overdue.sweep.duration").timer().count());
+    }
+
+    @Test
+    void sweep_renewsTheLeasePerChunkAndStopsOnceAnotherNodeTookItOver() {
+        InvoiceRepositoryPort repository = mock(InvoiceRepositoryPort.class);
+        when(repository.maxId()).thenReturn(5L);
+        OverdueSweeper shortLease = new OverdueSweeper(repository, lock, new SimpleMeterRegistry(), 1, Duration.ofMillis(300));
+        AtomicInteger chunks = new AtomicInteger();
+        when(repository.markOverdue(any(), anyLong(), anyLong())).thenAnswer(a -> {
+            if (chunks.incrementAndGet() == 2) {
+                // this chunk outlives the lease, and another node claims it meanwhile
+                Thread.sleep(400);
+                assertTrue(lock.tryAcquire(OverdueSweeper.LOCK_NAME, "other-node", Duration.ofMinutes(5)));
+            } else {
+                Thread.sleep(100); // slower than the lease would allow without renewals
+            }
+            return 0;
+        });
+
+        shortLease.sweep(LocalDate.of(2025, 10, 10));
+        assertEquals(2, chunks.get());
+        verify(repository).markOverdue(any(), eq(0L), eq(1L));
+        verify(repository).markOverdue(any(), eq(1L), eq(2L));
+        assertFalse(lock.tryAcquire(OverdueSweeper.LOCK_NAME, "third-node", Duration.ofMinutes(5)), "the other node keeps its lease");
+        lock.release(OverdueSweeper.LOCK_NAME, "other-node");
+    }
+}
@@ -0,0 +1,72 @@
+package com.capitec.invoice.application;
+
+import com.capitec.invoice.domain.model.Invoice;
+import com.capitec.invoice.domain.ports.InvoiceServicePort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@DirtiesContext
+class PaymentConcurrencyIT {
+
+    private static final int THREADS = 16;
+    private static final int PAYMENTS_PER_THREAD = 150;
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @Autowired
+    InvoiceServicePort service;
+
+    @Test
+    void concurrentPayments_areNeverLost() throws Exception {
+        List<Long> ids = List.of(1L, 2L, 3L);
+        List<BigDecimal> before = new ArrayList<>();
+        for (Long id : ids) before.add(service.get(id).orElseThrow().getAmountPaid());
+        BigDecimal paidBefore = service.summary().totalPaid;
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < PAYMENTS_PER_THREAD; i++) {
+                    service.recordPayment(ids.get((thread + i) % ids.size()), AMOUNT);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> w : workers) w.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        BigDecimal expectedTotal = BigDecimal.ZERO;
+        for (int k = 0; k < ids.size(); k++) {
+            long payments = 0;
+            for (int t = 0; t < THREADS; t++) {
+                for (int i = 0; i < PAYMENTS_PER_THREAD; i++) {
+                    if ((t + i) % ids.size() == k) payments++;
+                }
+            }
+            BigDecimal added = AMOUNT.multiply(BigDecimal.valueOf(payments));
+            expectedTotal = expectedTotal.add(added);
+            Invoice after = service.get(ids.get(k)).orElseThrow();
+            assertEquals(0, before.get(k).add(added).compareTo(after.getAmountPaid()),
+                    "invoice " + ids.get(k) + " lost payments");
+        }
+        assertEquals(0, paidBefore.add(expectedTotal).compareTo(service.summary().totalPaid));
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,16 +20,9 @@ class InvoiceDomainTests {
         inv.setIssueDate(LocalDate.now().minusDays(10));
         inv.setDueDate(LocalDate.now().plusDays(5));
         inv.setStatus(PaymentStatus.UNPAID);
-        InvoiceItem i1 = new InvoiceItem();
-        i1.setDescription("A");
-        i1.setQuantity(2);
-        i1.setUnitPrice(new BigDecimal("10.50"));
-        InvoiceItem i2 = new InvoiceItem();
-        i2.setDescription("B");
-        i2.setQuantity(1);
-        i2.setUnitPrice(new BigDecimal("5.00"));
-        inv.getItems().add(i1);
-        inv.getItems().add(i2);
+        inv.setItems(List.of(
+                new InvoiceItem(null, "A", 2, new BigDecimal("10.50")),
+                new InvoiceItem(null, "B", 1, new BigDecimal("5.00"))));
         return inv;
     }
 
@@ -46,6 +40,17 @@ class InvoiceDomainTests {
         assertEquals(new BigDecimal("20.00"), inv.getBalanceDue());
     }
 
+    @Test
+    void totalIsKeptUntilItemsAreReplaced() {
+        Invoice inv = sampleInvoice();
+        assertEquals(new BigDecimal("26.00"), inv.getTotal());
+        assertThrows(UnsupportedOperationException.class, () -> inv.getItems().add(new InvoiceItem(null, "C", 1, BigDecimal.ONE)));
+        inv.setItems(inv.getItems().subList(0, 1));
+        assertEquals(new BigDecimal("21.00"), inv.getTotal());
+        inv.setTotal(new BigDecimal("99.00"));
+        assertEquals(new BigDecimal("99.00"), inv.getBalanceDue());
+    }
+
     @Test
     void overdueOnlyWhenNotPaidAndPastDueDate() {
         Invoice inv = sampleInvoice();